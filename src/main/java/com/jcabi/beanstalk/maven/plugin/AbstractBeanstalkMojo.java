@@ -5,11 +5,26 @@
 package com.jcabi.beanstalk.maven.plugin;
 
 import com.amazonaws.auth.AWSCredentials;
+import com.amazonaws.regions.Region;
+import com.amazonaws.regions.Regions;
 import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
 import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalkClient;
+import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.jcabi.log.Logger;
 import java.io.File;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoFailureException;
@@ -42,15 +57,16 @@ abstract class AbstractBeanstalkMojo extends AbstractMojo {
     private transient String server;
 
     /**
-     * Application name (also the name of environment and CNAME).
+     * Application name (also the name of environment and CNAME),
+     * required unless every target has its own.
      */
-    @Parameter(required = true)
+    @Parameter
     private transient String name;
 
     /**
-     * S3 bucket.
+     * S3 bucket, required unless every target has its own.
      */
-    @Parameter(required = true)
+    @Parameter
     private transient String bucket;
 
     /**
@@ -60,11 +76,44 @@ abstract class AbstractBeanstalkMojo extends AbstractMojo {
     private transient String key;
 
     /**
-     * Template name.
+     * Store the WAR in S3 by its content, under {@code bundles/<sha256>.war},
+     * instead of the {@code key}, so that the same WAR is never uploaded
+     * twice (the {@code key} is still the label of the version).
      */
-    @Parameter(required = true)
+    @Parameter(defaultValue = "false")
+    private transient boolean addressed;
+
+    /**
+     * How many newest versions of the application to keep, after a
+     * successful deployment, together with the ones deployed to live
+     * environments (older versions and their bundles in S3 are deleted,
+     * zero means that nothing is deleted).
+     */
+    @Parameter(defaultValue = "0")
+    private transient int keep;
+
+    /**
+     * Template name, required by the goals, which create environments.
+     */
+    @Parameter
     private transient String template;
 
+    /**
+     * Targets to deploy to at the same time, instead of the application
+     * above, each with its own {@code name}, {@code region},
+     * {@code template} and {@code bucket} (in the same region), where the
+     * missing ones are taken from above, except the bucket of a target
+     * with a region; the WAR is hashed once and uploaded once per bucket.
+     */
+    @Parameter
+    private transient List<Target> targets;
+
+    /**
+     * How many targets to deploy to at the same time.
+     */
+    @Parameter(defaultValue = "4")
+    private transient int targetThreads;
+
     /**
      * WAR file to deploy.
      */
@@ -73,6 +122,124 @@ abstract class AbstractBeanstalkMojo extends AbstractMojo {
     )
     private transient File war;
 
+    /**
+     * Size of a part of multipart upload of the WAR to S3, in megabytes
+     * (smaller files are uploaded with a single request), not less
+     * than 5, the minimum S3 accepts.
+     */
+    @Parameter(defaultValue = "16")
+    private transient int partSize;
+
+    /**
+     * How many parts of the WAR to upload to S3 at the same time.
+     */
+    @Parameter(defaultValue = "4")
+    private transient int uploadThreads;
+
+    /**
+     * Age, in hours, after which an unfinished upload of the same object
+     * to S3 is abandoned and aborted, so that no other build running
+     * now loses its upload.
+     */
+    @Parameter(defaultValue = "24")
+    private transient int staleUploads;
+
+    /**
+     * First delay between checks of environment status, in seconds
+     * (every next delay is twice as long, up to the
+     * {@code pollCap}).
+     */
+    @Parameter(defaultValue = "5")
+    private transient int pollInterval;
+
+    /**
+     * The longest delay between checks of environment status, in seconds.
+     */
+    @Parameter(defaultValue = "60")
+    private transient int pollCap;
+
+    /**
+     * Follow EBT events of environments, while waiting for them, instead
+     * of describing them on every check (environments are described
+     * only when a terminal event arrives, or once in a while).
+     */
+    @Parameter(defaultValue = "false")
+    private transient boolean events;
+
+    /**
+     * Total time budget of the deployment, in minutes (all waits, uploads
+     * and API calls share it, and the deployment fails once it is spent).
+     */
+    @Parameter(defaultValue = "60")
+    private transient int budget;
+
+    /**
+     * Overtime, in minutes, given to the clean up and the diagnostics after
+     * a failure, even if the time budget is already spent (failed
+     * environments are still described and terminated).
+     */
+    @Parameter(defaultValue = "5")
+    private transient int grace;
+
+    /**
+     * Maximum number of lines of TAIL report to show when
+     * deployment fails.
+     */
+    @Parameter(defaultValue = "1000")
+    private transient int tailLines;
+
+    /**
+     * Maximum number of bytes of TAIL report to show when
+     * deployment fails.
+     */
+    @Parameter(defaultValue = "1048576")
+    private transient long tailBytes;
+
+    /**
+     * Download full logs of all instances when deployment fails, to
+     * {@code target/beanstalk-logs/<env>/}.
+     */
+    @Parameter(defaultValue = "false")
+    private transient boolean logs;
+
+    /**
+     * How many instances to download full logs from at the same time.
+     */
+    @Parameter(defaultValue = "8")
+    private transient int logThreads;
+
+    /**
+     * Maximum number of EBT events to show when deployment fails.
+     */
+    @Parameter(defaultValue = "100")
+    private transient int eventsMax;
+
+    /**
+     * Directory for reports of the plugin.
+     */
+    @Parameter(defaultValue = "${project.build.directory}", readonly = true)
+    private transient File directory;
+
+    /**
+     * The moment the current execution started.
+     */
+    private transient Date started;
+
+    /**
+     * The moment the current execution has to be finished by.
+     */
+    private transient Deadline deadline;
+
+    /**
+     * Timings of the current execution.
+     */
+    private transient Timings timings;
+
+    /**
+     * The timer all waits of the current execution run on.
+     */
+    private transient Poller poller;
+
     @Override
     public void execute() throws MojoFailureException {
         StaticLoggerBinder.getSingleton().setMavenLog(this.getLog());
@@ -85,31 +252,59 @@ abstract class AbstractBeanstalkMojo extends AbstractMojo {
                 String.format("WAR file '%s' doesn't exist", this.war)
             );
         }
+        this.started = new Date();
         this.validate(this.war);
+        final long part = (long) this.partSize << 20;
+        if (part < Multipart.MIN_PART) {
+            throw new MojoFailureException(
+                String.format(
+                    "partSize is %d MB, S3 doesn't accept parts smaller than %d MB",
+                    this.partSize, Multipart.MIN_PART >> 20
+                )
+            );
+        }
+        this.deadline = new Deadline(
+            TimeUnit.MINUTES.toMillis(this.budget),
+            TimeUnit.MINUTES.toMillis(this.grace)
+        );
+        this.timings = new Timings();
         final AWSCredentials creds = this.createServerCredentials();
-        final AWSElasticBeanstalk ebt = new AWSElasticBeanstalkClient(creds);
-        Logger.info(this, "Working with application '%s'", this.name);
+        final Hashes hashes = new Hashes.Memo(
+            new Hashes.Index(
+                new Hashes.Scan(part, this.timings),
+                new File(this.directory, "beanstalk-digests.properties"),
+                part
+            )
+        );
+        final ConcurrentMap<String, Bundle> bundles =
+            new ConcurrentHashMap<>(0);
+        this.poller = new Poller(
+            this.backoff(), this.events, this.deadline, this.timings
+        );
         try {
-            this.exec(
-                new Application(ebt, this.name),
-                new OverridingVersion(
-                    ebt,
-                    this.name,
-                    new Bundle.Safe(
-                        new OverridingBundle(
-                            new AmazonS3Client(creds),
-                            this.bucket,
-                            this.key,
-                            this.war
-                        )
-                    )
-                ),
-                this.template
-            );
+            if (this.targets == null || this.targets.isEmpty()) {
+                this.deploy(
+                    creds,
+                    new Target().with(this.name, this.template, this.bucket),
+                    hashes, bundles, this.timings
+                );
+            } else {
+                this.fanOut(creds, hashes, bundles);
+            }
         } catch (final DeploymentException ex) {
+            if (this.deadline.exhausted()) {
+                throw new MojoFailureException(
+                    String.format(
+                        "failed to deploy in %d minutes, time budget is exhausted",
+                        this.budget
+                    ),
+                    ex
+                );
+            }
             throw new MojoFailureException("failed to deploy", ex);
         } finally {
-            ebt.shutdown();
+            this.poller.close();
+            this.report();
         }
     }
 
@@ -134,49 +329,67 @@ abstract class AbstractBeanstalkMojo extends AbstractMojo {
      */
     protected abstract void exec(Application app, Version version, String tmpl);
 
+    /**
+     * Make sure the template is configured, before a new environment
+     * is created with it.
+     * @param tmpl Template name, NULL if not configured
+     * @return The same name
+     */
+    protected static String template(final String tmpl) {
+        if (tmpl == null || tmpl.isEmpty()) {
+            throw new DeploymentException(
+                "template is not configured, it is required to create an environment"
+            );
+        }
+        return tmpl;
+    }
+
     /**
      * Report when environment is failed.
      * @param env The environment
      */
     protected void postMortem(final Environment env) {
+        this.deadline.overtime();
         Logger.error(this, "Failed to deploy to '%s'", env);
         if (!env.terminated()) {
             Logger.error(
                 this,
                 "TAIL report should explain the cause of failure:"
             );
-            this.log(env.tail().lines().toArray(String[]::new));
+            env.tail(this::log, this.tailLines, this.tailBytes);
+            if (this.logs) {
+                this.download(env);
+            }
         }
+        this.deadline.overtime();
         Logger.error(this, "Latest EBT events (in reverse order):");
-        this.log(env.events());
+        env.events(this::log, this.started, this.eventsMax);
         env.terminate();
     }
 
+    /**
+     * Clean up the application after a failure, in overtime.
+     * @param app The application
+     */
+    protected void cleanup(final Application app) {
+        this.deadline.overtime();
+        try {
+            app.clean(false);
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final RuntimeException ex) {
+            Logger.warn(this, "Failed to clean up '%s': %s", app, ex);
+        }
+    }
+
     /**
      * Wait for green status.
      * @param env The environment
      * @return TRUE if green
      */
     protected boolean isGreen(final Environment env) {
-        boolean green = env.green();
-        final long start = System.currentTimeMillis();
-        while (!green) {
-            final long age = System.currentTimeMillis() - start;
-            if (age > TimeUnit.MINUTES.toMillis(15L)) {
-                Logger.warn(this, "Waiting for %[ms]s, time to give up", age);
-                break;
-            }
-            Logger.warn(
-                this,
-                "%s is not GREEN yet, let's wait another 15 second...", env
-            );
-            try {
-                TimeUnit.SECONDS.sleep(15L);
-            } catch (final InterruptedException ex) {
-                Thread.currentThread().interrupt();
-                throw new DeploymentException(ex);
-            }
-            green = env.green();
+        final boolean green = env.healthy();
+        if (!green) {
+            Logger.warn(this, "%s is not GREEN, time budget is exhausted", env);
         }
         return green;
     }
@@ -234,6 +447,217 @@ abstract class AbstractBeanstalkMojo extends AbstractMojo {
         this.key = thekey;
     }
 
+    /**
+     * Set the size of a part of multipart upload.
+     * @param size The size, in megabytes
+     */
+    void setPartSize(final int size) {
+        this.partSize = size;
+    }
+
+    /**
+     * Set the targets to deploy to at the same time.
+     * @param trgts The targets
+     */
+    void setTargets(final List<Target> trgts) {
+        this.targets = trgts;
+    }
+
+    /**
+     * Set whether to download full logs when deployment fails.
+     * @param download Shall we download them?
+     */
+    void setLogs(final boolean download) {
+        this.logs = download;
+    }
+
+    /**
+     * Set the directory for reports.
+     * @param dir The directory
+     */
+    void setDirectory(final File dir) {
+        this.directory = dir;
+    }
+
+    private void download(final Environment env) {
+        final File dir = new File(
+            new File(this.directory, "beanstalk-logs"), env.name()
+        );
+        try {
+            Logger.error(
+                this, "Full logs of %d instance(s) saved to %s",
+                env.logs(dir, this.logThreads).size(), dir
+            );
+        // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final RuntimeException ex) {
+            Logger.warn(this, "Failed to download logs of '%s': %s", env, ex);
+        }
+    }
+
+    private void report() {
+        final File file = new File(this.directory, "beanstalk-timings.json");
+        Logger.info(this, "%s", this.timings.summary());
+        try {
+            this.timings.save(file);
+            Logger.info(this, "Timings report saved to %s", file);
+        } catch (final IOException ex) {
+            Logger.warn(this, "Failed to save timings to %s: %s", file, ex);
+        }
+    }
+
+    private void fanOut(final AWSCredentials creds, final Hashes hashes,
+        final ConcurrentMap<String, Bundle> bundles) {
+        final List<Target> fulls = new ArrayList<>(this.targets.size());
+        for (final Target target : this.targets) {
+            fulls.add(target.with(this.name, this.template, this.bucket));
+        }
+        final ExecutorService pool = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(this.targetThreads, fulls.size()))
+        );
+        final List<Map.Entry<Target, CompletableFuture<Void>>> futures =
+            new ArrayList<>(fulls.size());
+        try {
+            for (final Target full : fulls) {
+                futures.add(
+                    new AbstractMap.SimpleImmutableEntry<>(
+                        full,
+                        CompletableFuture.runAsync(
+                            () -> this.deploy(
+                                creds, full, hashes, bundles,
+                                this.timings.target(full.toString())
+                            ),
+                            pool
+                        )
+                    )
+                );
+            }
+            int failed = 0;
+            Logger.info(this, "Deployment to %d target(s):", futures.size());
+            for (final Map.Entry<Target, CompletableFuture<Void>> entry
+                : futures) {
+                try {
+                    entry.getValue().join();
+                    Logger.info(this, "  %s: OK", entry.getKey());
+                } catch (final CompletionException ex) {
+                    ++failed;
+                    Logger.error(
+                        this, "  %s: FAILED, %s",
+                        entry.getKey(), ex.getCause().getMessage()
+                    );
+                }
+            }
+            if (failed > 0) {
+                throw new DeploymentException(
+                    String.format(
+                        "failed to deploy to %d target(s) of %d",
+                        failed, futures.size()
+                    )
+                );
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // @checkstyle ParameterNumberCheck (3 lines)
+    private void deploy(final AWSCredentials creds, final Target target,
+        final Hashes hashes, final ConcurrentMap<String, Bundle> bundles,
+        final Timings timings) {
+        final AWSElasticBeanstalkClient raw =
+            new AWSElasticBeanstalkClient(creds);
+        final AmazonS3Client client = new AmazonS3Client(creds);
+        if (!target.region().isEmpty()) {
+            final Region region = Region.getRegion(
+                Regions.fromName(target.region())
+            );
+            raw.setRegion(region);
+            client.setRegion(region);
+        }
+        final AWSElasticBeanstalk ebt = timings.calls(
+            AWSElasticBeanstalk.class,
+            this.deadline.guard(AWSElasticBeanstalk.class, raw)
+        );
+        final AmazonS3 s3 = timings.calls(
+            AmazonS3.class,
+            this.deadline.guard(AmazonS3.class, client)
+        );
+        Logger.info(this, "Working with application '%s'", target);
+        final Versions versions = new Versions(ebt, target.name());
+        final Version.Ahead version = new Version.Ahead(
+            new OverridingVersion(
+                ebt,
+                target.name(),
+                bundles.computeIfAbsent(
+                    target.bucket(),
+                    bkt -> new Bundle.Safe(
+                        this.bundle(
+                            this.timings.calls(
+                                AmazonS3.class,
+                                this.deadline.guard(AmazonS3.class, client)
+                            ),
+                            target.bucket(), hashes
+                        )
+                    )
+                ),
+                timings,
+                versions
+            )
+        ).start();
+        try {
+            this.exec(
+                new Application(
+                    ebt, target.name(), this.poller.with(timings), timings
+                ),
+                version,
+                target.template()
+            );
+            if (this.keep > 0) {
+                timings.phase(
+                    "retention",
+                    () -> new Retention(
+                        ebt, s3, target.name(), versions, this.keep
+                    ).clean()
+                );
+            }
+        } finally {
+            version.close();
+            raw.shutdown();
+        }
+    }
+
+    private Bundle bundle(final AmazonS3 s3, final String bkt,
+        final Hashes hashes) {
+        final long part = (long) this.partSize << 20;
+        final Multipart multipart = new Multipart(
+            s3, part, this.uploadThreads,
+            new Journal.Dir(new File(this.directory, "beanstalk-uploads")),
+            TimeUnit.HOURS.toMillis(this.staleUploads)
+        );
+        final Bundle bundle;
+        if (this.addressed) {
+            bundle = new AddressedBundle(
+                this.key, this.war, hashes,
+                label -> new OverridingBundle(
+                    s3, bkt, label, this.war, this.timings,
+                    multipart, hashes
+                )
+            );
+        } else {
+            bundle = new OverridingBundle(
+                s3, bkt, this.key, this.war, this.timings,
+                multipart, hashes
+            );
+        }
+        return bundle;
+    }
+
+    private Backoff backoff() {
+        return new Backoff.Exponential(
+            TimeUnit.SECONDS.toMillis(this.pollInterval),
+            TimeUnit.SECONDS.toMillis(this.pollCap)
+        );
+    }
+
     private void log(final String... lines) {
         for (final String line : lines) {
             Logger.info(this, ">> %s", line);
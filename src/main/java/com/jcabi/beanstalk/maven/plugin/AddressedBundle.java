@@ -0,0 +1,81 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.services.elasticbeanstalk.model.S3Location;
+import com.jcabi.aspects.Cacheable;
+import com.jcabi.aspects.Loggable;
+import com.jcabi.log.Logger;
+import java.io.File;
+import java.util.function.Function;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Bundle stored in S3 by SHA-256 of its content.
+ * @since 1.0
+ */
+@ToString(of = { "label", "war" })
+@EqualsAndHashCode(of = { "label", "war", "hashes" })
+@Loggable(Loggable.DEBUG)
+final class AddressedBundle implements Bundle {
+
+    /**
+     * Name of the bundle.
+     */
+    private final transient String label;
+
+    /**
+     * WAR file location.
+     */
+    private final transient File war;
+
+    /**
+     * Source of digests of the file.
+     */
+    private final transient Hashes hashes;
+
+    /**
+     * Bundles, by S3 key.
+     */
+    private final transient Function<String, Bundle> bundles;
+
+    /**
+     * Public ctor.
+     * @param name Name of the bundle
+     * @param file WAR file location
+     * @param hsh Source of digests
+     * @param bndls Bundles, which upload the file to the given S3 key
+     */
+    AddressedBundle(@NotNull final String name, @NotNull final File file,
+        @NotNull final Hashes hsh,
+        @NotNull final Function<String, Bundle> bndls) {
+        this.label = name;
+        this.war = file;
+        this.hashes = hsh;
+        this.bundles = bndls;
+    }
+
+    @Cacheable
+    @Override
+    public S3Location location() {
+        final String key = String.format(
+            "bundles/%s.war", this.hashes.digest(this.war).sha256()
+        );
+        Logger.info(this, "Bundle '%s' is stored as '%s'", this.label, key);
+        return this.bundles.apply(key).location();
+    }
+
+    @Override
+    public String name() {
+        return this.label;
+    }
+
+    @Override
+    public String etag() {
+        return this.hashes.digest(this.war).md5();
+    }
+}
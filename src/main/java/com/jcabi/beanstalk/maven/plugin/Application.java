@@ -15,8 +15,10 @@ import com.amazonaws.services.elasticbeanstalk.model.SwapEnvironmentCNAMEsReques
 import com.jcabi.aspects.Loggable;
 import com.jcabi.log.Logger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import javax.validation.constraints.NotNull;
 import lombok.EqualsAndHashCode;
 
@@ -38,15 +40,41 @@ final class Application {
      */
     private final transient String name;
 
+    /**
+     * The way we wait for environments.
+     */
+    private final transient Poller poller;
+
+    /**
+     * Timings of deployment phases.
+     */
+    private final transient Timings timings;
+
     /**
      * Public ctor.
      * @param clnt The client
      * @param app Application name
+     * @param plr The way we wait for environments
      */
     Application(@NotNull final AWSElasticBeanstalk clnt,
-        @NotNull final String app) {
+        @NotNull final String app, @NotNull final Poller plr) {
+        this(clnt, app, plr, new Timings());
+    }
+
+    /**
+     * Public ctor.
+     * @param clnt The client
+     * @param app Application name
+     * @param plr The way we wait for environments
+     * @param tmgs Timings of deployment phases
+     */
+    Application(@NotNull final AWSElasticBeanstalk clnt,
+        @NotNull final String app, @NotNull final Poller plr,
+        @NotNull final Timings tmgs) {
         this.client = clnt;
         this.name = app;
+        this.poller = plr;
+        this.timings = tmgs;
     }
 
     @Override
@@ -59,7 +87,9 @@ final class Application {
      * @param wipe Kill all existing environments no matter what?
      */
     void clean(final boolean wipe) {
-        for (final Environment env : this.environments()) {
+        final Collection<Environment> envs = this.environments();
+        this.settle(envs);
+        for (final Environment env : envs) {
             if (env.primary() && env.green() && !wipe) {
                 Logger.info(
                     this,
@@ -84,7 +114,7 @@ final class Application {
                     env
                 );
             }
-            env.terminate();
+            this.timings.phase("terminate", env::terminate);
         }
     }
 
@@ -132,16 +162,22 @@ final class Application {
      */
     void swap(@NotNull final Environment candidate) {
         final Environment primary = this.primary();
-        this.client.swapEnvironmentCNAMEs(
-            new SwapEnvironmentCNAMEsRequest()
-                .withDestinationEnvironmentName(primary.name())
-                .withSourceEnvironmentName(candidate.name())
+        this.timings.phase(
+            "swap",
+            () -> this.client.swapEnvironmentCNAMEs(
+                new SwapEnvironmentCNAMEsRequest()
+                    .withDestinationEnvironmentName(primary.name())
+                    .withSourceEnvironmentName(candidate.name())
+            )
         );
         Logger.info(
             this,
             "Environment '%s' swapped CNAME with '%s'",
             candidate.name(), primary.name()
         );
+        candidate.invalidate();
+        primary.invalidate();
+        this.settle(Arrays.asList(candidate, primary));
         if (candidate.stable() && !candidate.primary()) {
             throw new DeploymentException(
                 String.format(
@@ -158,7 +194,7 @@ final class Application {
                 )
             );
         }
-        primary.terminate();
+        this.timings.phase("terminate", primary::terminate);
     }
 
     /**
@@ -169,18 +205,23 @@ final class Application {
      */
     Environment candidate(@NotNull final Version version,
         @NotNull final String template) {
-        final CreateEnvironmentRequest request = this.suggest();
+        final CreateEnvironmentRequest request =
+            this.timings.phase("dns", this::suggest);
         Logger.info(
             this,
             "Suggested candidate environment name is '%s' with '%s' CNAME",
             request.getEnvironmentName(),
             request.getCNAMEPrefix()
         );
-        final CreateEnvironmentResult res = this.client.createEnvironment(
-            request
-                .withApplicationName(this.name)
-                .withVersionLabel(version.label())
-                .withTemplateName(template)
+        final String label = version.label();
+        final CreateEnvironmentResult res = this.timings.phase(
+            "create",
+            () -> this.client.createEnvironment(
+                request
+                    .withApplicationName(this.name)
+                    .withVersionLabel(label)
+                    .withTemplateName(template)
+            )
         );
         Logger.info(
             this,
@@ -189,20 +230,44 @@ final class Application {
             res.getEnvironmentId(), res.getCNAME(),
             res.getStatus(), res.getHealth()
         );
-        return new Environment(this.client, res.getEnvironmentId());
+        return new Environment(
+            this.client, res.getEnvironmentId(),
+            new Snapshot(this.client), this.poller
+        );
     }
 
     private Collection<Environment> environments() {
         final DescribeEnvironmentsResult res = this.client.describeEnvironments(
             new DescribeEnvironmentsRequest().withApplicationName(this.name)
         );
+        final Snapshot snapshot = new Snapshot(
+            this.client, res.getEnvironments()
+        );
         final Collection<Environment> envs = new ArrayList<>(0);
         for (final EnvironmentDescription desc : res.getEnvironments()) {
-            envs.add(new Environment(this.client, desc.getEnvironmentId()));
+            envs.add(
+                new Environment(
+                    this.client, desc.getEnvironmentId(),
+                    snapshot, this.poller
+                )
+            );
         }
         return envs;
     }
 
+    private void settle(final Collection<Environment> envs) {
+        final CompletableFuture<?>[] waits =
+            new CompletableFuture<?>[envs.size()];
+        int idx = 0;
+        for (final Environment env : envs) {
+            waits[idx] = env.settle();
+            ++idx;
+        }
+        this.poller.join(
+            CompletableFuture.allOf(waits).thenApply(nothing -> true)
+        );
+    }
+
     private CreateEnvironmentRequest suggest() {
         final CreateEnvironmentRequest request = new CreateEnvironmentRequest();
         while (true) {
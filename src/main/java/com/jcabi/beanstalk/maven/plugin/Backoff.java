@@ -0,0 +1,71 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Polling strategy, which decides how long to wait between attempts.
+ * @since 1.0
+ */
+@FunctionalInterface
+interface Backoff {
+
+    /**
+     * How long to wait before the next attempt.
+     * @param attempt How many attempts were made already, starting from one
+     * @return Delay in milliseconds
+     */
+    long delay(int attempt);
+
+    /**
+     * Exponential backoff with jitter.
+     * @since 1.0
+     */
+    @ToString
+    @EqualsAndHashCode(of = { "first", "cap" })
+    final class Exponential implements Backoff {
+
+        /**
+         * The first delay, in milliseconds.
+         */
+        private final transient long first;
+
+        /**
+         * The longest possible delay, in milliseconds.
+         */
+        private final transient long cap;
+
+        /**
+         * Public ctor, with reasonable defaults.
+         */
+        Exponential() {
+            this(TimeUnit.SECONDS.toMillis(5L), TimeUnit.MINUTES.toMillis(1L));
+        }
+
+        /**
+         * Public ctor.
+         * @param start The first delay, in milliseconds
+         * @param max The longest delay, in milliseconds
+         */
+        Exponential(final long start, final long max) {
+            this.first = start;
+            this.cap = Math.max(start, max);
+        }
+
+        @Override
+        public long delay(final int attempt) {
+            long base = this.first;
+            for (int idx = 1; idx < attempt && base < this.cap; ++idx) {
+                base <<= 1;
+            }
+            base = Math.min(base, this.cap);
+            return base - ThreadLocalRandom.current().nextLong(base / 4L + 1L);
+        }
+    }
+}
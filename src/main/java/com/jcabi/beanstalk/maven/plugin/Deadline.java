@@ -0,0 +1,119 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import java.util.concurrent.atomic.AtomicLong;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+
+/**
+ * The moment the whole deployment has to be finished by, with
+ * overtime for clean up and diagnostics.
+ * @since 1.0
+ */
+@EqualsAndHashCode(of = "end")
+final class Deadline {
+
+    /**
+     * The moment, in milliseconds.
+     */
+    private final transient long end;
+
+    /**
+     * Grace period of the overtime, in milliseconds.
+     */
+    private final transient long grace;
+
+    /**
+     * The moment the overtime ends, zero if there is no overtime.
+     */
+    private final transient AtomicLong overtime;
+
+    /**
+     * Public ctor, without overtime.
+     * @param budget How much time we have from now, in milliseconds
+     */
+    Deadline(final long budget) {
+        this(budget, 0L);
+    }
+
+    /**
+     * Public ctor.
+     * @param budget How much time we have from now, in milliseconds
+     * @param extra Grace period of the overtime, in milliseconds
+     */
+    Deadline(final long budget, final long extra) {
+        this.end = System.currentTimeMillis() + budget;
+        this.grace = extra;
+        this.overtime = new AtomicLong();
+    }
+
+    /**
+     * How much time is left.
+     * @return Milliseconds, zero if the deadline is already passed
+     */
+    long left() {
+        return Math.max(
+            0L, Math.max(this.end, this.overtime.get())
+                - System.currentTimeMillis()
+        );
+    }
+
+    /**
+     * Is the budget spent, no matter the overtime?
+     * @return TRUE if the deadline itself is passed
+     */
+    boolean exhausted() {
+        return System.currentTimeMillis() >= this.end;
+    }
+
+    /**
+     * Go into overtime, giving the clean up a grace period from now on.
+     */
+    void overtime() {
+        final long limit = System.currentTimeMillis() + this.grace;
+        this.overtime.accumulateAndGet(limit, Math::max);
+    }
+
+    /**
+     * Is it passed already?
+     * @return TRUE if there is no time left
+     */
+    boolean expired() {
+        return this.left() == 0L;
+    }
+
+    /**
+     * Make sure we still have time for the operation.
+     * @param operation What we are about to do
+     */
+    void check(final String operation) {
+        if (this.expired()) {
+            throw new DeploymentException(
+                String.format(
+                    "time budget is exhausted, can't proceed with %s",
+                    operation
+                )
+            );
+        }
+    }
+
+    /**
+     * Make an object, all calls to which check the deadline first.
+     * @param type The interface
+     * @param origin The object
+     * @param <T> Type of it
+     * @return The object, which refuses to work after the deadline
+     */
+    <T> T guard(@NotNull final Class<T> type, @NotNull final T origin) {
+        return new Interceptor<>(
+            type, origin,
+            (method, call) -> {
+                this.check(method.getName());
+                return call.make();
+            }
+        ).proxy();
+    }
+}
@@ -6,7 +6,6 @@ package com.jcabi.beanstalk.maven.plugin;
 
 import com.jcabi.aspects.Loggable;
 import com.jcabi.log.Logger;
-import javax.validation.constraints.NotNull;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 
@@ -19,12 +18,13 @@ import org.apache.maven.plugins.annotations.Mojo;
 public final class DeployMojo extends AbstractBeanstalkMojo {
 
     @Override
-    public void exec(@NotNull final Application app,
-        @NotNull final Version version, @NotNull final String template) {
+    public void exec(final Application app, final Version version,
+        final String template) {
+        final String tmpl = AbstractBeanstalkMojo.template(template);
         try {
-            this.deploy(app, version, template);
+            this.deploy(app, version, tmpl);
         } catch (final DeploymentException ex) {
-            app.clean(false);
+            this.cleanup(app);
             throw ex;
         }
     }
@@ -0,0 +1,139 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Digests of a file, the way S3 may report them as ETag.
+ * @since 1.0
+ */
+@ToString
+@EqualsAndHashCode(of = { "md5", "multipart", "sha", "pieces" })
+final class Digest {
+
+    /**
+     * Name of user metadata of S3 object with its SHA-256.
+     */
+    private static final String SHA256 = "sha256";
+
+    /**
+     * MD5 of the content, in hex.
+     */
+    private final transient String md5;
+
+    /**
+     * ETag of the content uploaded in parts, like {@code "<hex>-<parts>"},
+     * or plain MD5 if the content fits into one part.
+     */
+    private final transient String multipart;
+
+    /**
+     * SHA-256 of the content, in hex.
+     */
+    private final transient String sha;
+
+    /**
+     * MD5 of every part of the content, in hex.
+     */
+    private final transient List<String> pieces;
+
+    /**
+     * Public ctor.
+     * @param hex MD5 of the content, in hex
+     * @param mpart ETag of the content uploaded in parts
+     * @param sha256 SHA-256 of the content, in hex
+     * @param parts MD5 of every part of the content, in hex
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    Digest(@NotNull final String hex, @NotNull final String mpart,
+        @NotNull final String sha256, @NotNull final List<String> parts) {
+        this.md5 = hex;
+        this.multipart = mpart;
+        this.sha = sha256;
+        this.pieces = Collections.unmodifiableList(new ArrayList<>(parts));
+    }
+
+    /**
+     * MD5 of the content.
+     * @return Hex
+     */
+    String md5() {
+        return this.md5;
+    }
+
+    /**
+     * ETag the content gets when uploaded in parts.
+     * @return ETag
+     */
+    String multipart() {
+        return this.multipart;
+    }
+
+    /**
+     * SHA-256 of the content.
+     * @return Hex
+     */
+    String sha256() {
+        return this.sha;
+    }
+
+    /**
+     * MD5 of every part, in the order of parts.
+     * @return Hex digests
+     */
+    List<String> parts() {
+        return this.pieces;
+    }
+
+    /**
+     * Metadata to upload the content with, so that it can be compared
+     * later without hashing the content of the object again.
+     * @return Metadata
+     */
+    ObjectMetadata metadata() {
+        final ObjectMetadata meta = new ObjectMetadata();
+        meta.addUserMetadata(Digest.SHA256, this.sha);
+        return meta;
+    }
+
+    /**
+     * Is it the same content as the one of the object with this metadata?
+     * @param meta Metadata of S3 object
+     * @return TRUE if the content is the same
+     */
+    boolean matches(@NotNull final ObjectMetadata meta) {
+        final String saved = meta.getUserMetadata().get(Digest.SHA256);
+        final boolean same;
+        if (saved == null) {
+            same = this.matches(meta.getETag());
+        } else {
+            same = saved.equalsIgnoreCase(this.sha);
+        }
+        return same;
+    }
+
+    /**
+     * Is it the same content as the one with this ETag?
+     * @param etag ETag of S3 object
+     * @return TRUE if the content is the same
+     */
+    boolean matches(@NotNull final String etag) {
+        final String clean = etag.replace("\"", "");
+        final boolean same;
+        if (clean.contains("-")) {
+            same = clean.equalsIgnoreCase(this.multipart);
+        } else {
+            same = clean.equalsIgnoreCase(this.md5);
+        }
+        return same;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Digests being calculated, chunk by chunk, as the content is read.
+ * @since 1.0
+ */
+final class Digester {
+
+    /**
+     * Size of a part of multipart upload, in bytes.
+     */
+    private final transient long part;
+
+    /**
+     * MD5 of the content.
+     */
+    private final transient MessageDigest whole;
+
+    /**
+     * SHA-256 of the content.
+     */
+    private final transient MessageDigest sha;
+
+    /**
+     * MD5 of the current part.
+     */
+    private final transient MessageDigest piece;
+
+    /**
+     * MD5 of MD5s of all parts.
+     */
+    private final transient MessageDigest pieces;
+
+    /**
+     * MD5 of every part finished, in hex.
+     */
+    private final transient List<String> parts;
+
+    /**
+     * Bytes left till the end of the current part.
+     */
+    private transient long left;
+
+    /**
+     * Public ctor.
+     * @param size Size of a part of multipart upload, in bytes
+     */
+    Digester(final long size) {
+        this.part = size;
+        this.whole = DigestUtils.getMd5Digest();
+        this.sha = DigestUtils.getSha256Digest();
+        this.piece = DigestUtils.getMd5Digest();
+        this.pieces = DigestUtils.getMd5Digest();
+        this.parts = new ArrayList<>(0);
+        this.left = size;
+    }
+
+    /**
+     * Feed the next chunk of the content, from its position to its limit.
+     * @param chunk The chunk, which is read till the end
+     */
+    void update(final ByteBuffer chunk) {
+        while (chunk.hasRemaining()) {
+            final int len = (int) Math.min(chunk.remaining(), this.left);
+            final ByteBuffer slice = chunk.duplicate();
+            slice.limit(slice.position() + len);
+            this.whole.update(slice.duplicate());
+            this.sha.update(slice.duplicate());
+            this.piece.update(slice);
+            chunk.position(chunk.position() + len);
+            this.left -= len;
+            if (this.left == 0L) {
+                this.close();
+            }
+        }
+    }
+
+    /**
+     * MD5 of the part, which is finished already.
+     * @param num Number of the part, starting from one
+     * @return Hex
+     */
+    String part(final int num) {
+        return this.parts.get(num - 1);
+    }
+
+    /**
+     * Mark the end of the content, finishing its last part, which may be
+     * shorter than the others.
+     */
+    void end() {
+        if (this.left < this.part) {
+            this.close();
+        }
+    }
+
+    /**
+     * Finish the content and make its digests (can be called once).
+     * @return Digests
+     */
+    Digest digest() {
+        this.end();
+        final String md5 = Hex.encodeHexString(this.whole.digest());
+        final String mpart;
+        if (this.parts.size() > 1) {
+            mpart = String.format(
+                "%s-%d", Hex.encodeHexString(this.pieces.digest()),
+                this.parts.size()
+            );
+        } else {
+            mpart = md5;
+        }
+        return new Digest(
+            md5, mpart, Hex.encodeHexString(this.sha.digest()), this.parts
+        );
+    }
+
+    private void close() {
+        final byte[] bytes = this.piece.digest();
+        this.pieces.update(bytes);
+        this.parts.add(Hex.encodeHexString(bytes));
+        this.left = this.part;
+    }
+}
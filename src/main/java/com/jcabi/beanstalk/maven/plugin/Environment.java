@@ -5,10 +5,6 @@
 package com.jcabi.beanstalk.maven.plugin;
 
 import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
-import com.amazonaws.services.elasticbeanstalk.model.DescribeEnvironmentsRequest;
-import com.amazonaws.services.elasticbeanstalk.model.DescribeEnvironmentsResult;
-import com.amazonaws.services.elasticbeanstalk.model.DescribeEventsRequest;
-import com.amazonaws.services.elasticbeanstalk.model.DescribeEventsResult;
 import com.amazonaws.services.elasticbeanstalk.model.EnvironmentDescription;
 import com.amazonaws.services.elasticbeanstalk.model.EnvironmentInfoDescription;
 import com.amazonaws.services.elasticbeanstalk.model.EnvironmentInfoType;
@@ -21,16 +17,31 @@ import com.amazonaws.services.elasticbeanstalk.model.UpdateEnvironmentRequest;
 import com.amazonaws.services.elasticbeanstalk.model.UpdateEnvironmentResult;
 import com.jcabi.aspects.Loggable;
 import com.jcabi.log.Logger;
+import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import javax.validation.constraints.NotNull;
 import lombok.EqualsAndHashCode;
-import org.apache.commons.io.IOUtils;
 
 /**
  * EBT environment.
@@ -41,9 +52,10 @@ import org.apache.commons.io.IOUtils;
 final class Environment {
 
     /**
-     * For how long we can wait until env reaches certain status.
+     * Type of environment info with full logs of instances (not
+     * known to the SDK we use).
      */
-    private static final long DELAY_MS = TimeUnit.MINUTES.toMillis(30L);
+    private static final String BUNDLE = "bundle";
 
     /**
      * AWS beanstalk client.
@@ -55,15 +67,41 @@ final class Environment {
      */
     private final transient String eid;
 
+    /**
+     * Latest known description of the environment.
+     */
+    private final transient Snapshot snapshot;
+
+    /**
+     * The way we wait for the status.
+     */
+    private final transient Poller poller;
+
     /**
      * Public ctor.
      * @param clnt The client
      * @param idnt Environment ID
+     * @param plr The way we wait for the status
      */
     Environment(@NotNull final AWSElasticBeanstalk clnt,
-        @NotNull final String idnt) {
+        @NotNull final String idnt, @NotNull final Poller plr) {
+        this(clnt, idnt, new Snapshot(clnt), plr);
+    }
+
+    /**
+     * Public ctor.
+     * @param clnt The client
+     * @param idnt Environment ID
+     * @param snap Snapshot of descriptions, maybe shared with other envs
+     * @param plr The way we wait for the status
+     */
+    Environment(@NotNull final AWSElasticBeanstalk clnt,
+        @NotNull final String idnt, @NotNull final Snapshot snap,
+        @NotNull final Poller plr) {
         this.client = clnt;
         this.eid = idnt;
+        this.snapshot = snap;
+        this.poller = plr;
     }
 
     @Override
@@ -115,11 +153,43 @@ final class Environment {
         return this.stable() && "Green".equals(this.description().getHealth());
     }
 
+    /**
+     * Wait for Green health, and return TRUE if achieved or FALSE if the
+     * deadline passed before.
+     * @return TRUE if environment is in Green health
+     */
+    boolean healthy() {
+        return this.poller.join(
+            this.until(
+                new Environment.Barrier() {
+                    @Override
+                    public String message() {
+                        return "green";
+                    }
+
+                    @Override
+                    public boolean allow(final EnvironmentDescription desc) {
+                        return !desc.getStatus().matches(".*ing$")
+                            && "Green".equals(desc.getHealth());
+                    }
+                }
+            )
+        );
+    }
+
     /**
      * Wait for stable state, and return TRUE if achieved or FALSE if not.
      * @return TRUE if environment is stable
      */
     boolean stable() {
+        return this.poller.join(this.settle());
+    }
+
+    /**
+     * Start waiting for stable state, without blocking.
+     * @return The wait, which completes with TRUE if environment is stable
+     */
+    CompletableFuture<Boolean> settle() {
         return this.until(
             new Environment.Barrier() {
                 @Override
@@ -170,14 +240,19 @@ final class Environment {
                 res.getEnvironmentId(),
                 res.getVersionLabel(), res.getStatus()
             );
+            this.snapshot.invalidate(this.eid);
         }
     }
 
     /**
-     * Get latest events.
-     * @return Collection of events
+     * Latest events of the current version, newest first.
+     * @param sink Where to send them, one line per event
+     * @param since The earliest event to send
+     * @param max Maximum number of events to send
+     * @return How many events were sent
      */
-    String[] events() {
+    int events(@NotNull final Consumer<String> sink,
+        @NotNull final Date since, final int max) {
         if (!this.stable()) {
             throw new DeploymentException(
                 String.format(
@@ -186,23 +261,28 @@ final class Environment {
                 )
             );
         }
-        final DescribeEventsResult res = this.client.describeEvents(
-            new DescribeEventsRequest().withEnvironmentId(this.eid)
-        );
-        final Collection<String> events = new ArrayList<>(0);
-        for (final EventDescription desc : res.getEvents()) {
-            events.add(
+        int count = 0;
+        for (final EventDescription desc : new Events(
+            this.client, this.eid, since,
+            this.description().getVersionLabel(), max
+        )) {
+            sink.accept(
                 String.format("[%s]: %s", desc.getSeverity(), desc.getMessage())
             );
+            ++count;
         }
-        return events.toArray(new String[0]);
+        return count;
     }
 
     /**
-     * Tail log.
-     * @return Full text of tail log from the environment
+     * Tail log, line by line, without keeping it in memory.
+     * @param sink Where to send lines of the log
+     * @param lines Maximum number of lines to send
+     * @param bytes Maximum number of bytes to send
+     * @return How many lines were sent
      */
-    String tail() {
+    int tail(@NotNull final Consumer<String> sink, final int lines,
+        final long bytes) {
         if (!this.stable()) {
             throw new DeploymentException(
                 String.format(
@@ -224,32 +304,143 @@ final class Environment {
                 .withEnvironmentId(this.eid)
                 .withInfoType(EnvironmentInfoType.Tail)
         );
-        List<EnvironmentInfoDescription> infos;
-        final long start = System.currentTimeMillis();
-        do {
-            if (System.currentTimeMillis() - start > Environment.DELAY_MS) {
-                throw new DeploymentException(
-                    String.format(
-                        "env '%s' doesn't report its TAIL, time out",
+        final AtomicReference<List<EnvironmentInfoDescription>> infos =
+            new AtomicReference<>(Collections.emptyList());
+        final boolean ready = this.poller.join(
+            this.poller.submit(
+                "tail",
+                () -> {
+                    Logger.info(
+                        this,
+                        "Waiting for TAIL report of %s",
                         this.eid
-                    )
-                );
-            }
-            Logger.info(
-                this,
-                "Waiting for TAIL report of %s",
-                this.eid
+                    );
+                    infos.set(
+                        this.infos(EnvironmentInfoType.Tail.toString())
+                    );
+                    return !infos.get().isEmpty();
+                }
+            )
+        );
+        if (!ready) {
+            throw new DeploymentException(
+                String.format(
+                    "env '%s' doesn't report its TAIL, time out",
+                    this.eid
+                )
             );
-            infos = this.infos();
-        } while (infos.isEmpty());
-        try {
-            return IOUtils.toString(
-                URI.create(infos.get(0).getMessage()).toURL().openStream(),
+        }
+        int count = 0;
+        long size = 0L;
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(
+                URI.create(infos.get().get(0).getMessage()).toURL()
+                    .openStream(),
                 StandardCharsets.UTF_8
-            );
+            )
+        )) {
+            while (true) {
+                final String line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                size += line.getBytes(StandardCharsets.UTF_8).length + 1L;
+                if (count >= lines || size > bytes) {
+                    sink.accept(
+                        String.format(
+                            "... the rest is skipped, it's longer than %d lines or %d bytes",
+                            lines, bytes
+                        )
+                    );
+                    break;
+                }
+                sink.accept(line);
+                ++count;
+            }
         } catch (final IOException ex) {
             throw new IllegalStateException(ex);
         }
+        return count;
+    }
+
+    /**
+     * Download full logs of all instances, in parallel, to the directory.
+     * @param dir Where to save them, one archive per instance
+     * @param threads How many archives to download at the same time
+     * @return Files saved
+     */
+    Collection<File> logs(@NotNull final File dir, final int threads) {
+        this.client.requestEnvironmentInfo(
+            new RequestEnvironmentInfoRequest()
+                .withEnvironmentId(this.eid)
+                .withInfoType(Environment.BUNDLE)
+        );
+        final AtomicReference<List<EnvironmentInfoDescription>> infos =
+            new AtomicReference<>(Collections.emptyList());
+        final boolean ready = this.poller.join(
+            this.poller.submit(
+                "logs",
+                () -> {
+                    Logger.info(
+                        this,
+                        "Waiting for full logs of %s",
+                        this.eid
+                    );
+                    infos.set(this.infos(Environment.BUNDLE));
+                    return !infos.get().isEmpty();
+                }
+            )
+        );
+        if (!ready) {
+            throw new DeploymentException(
+                String.format(
+                    "env '%s' doesn't report its logs, time out",
+                    this.eid
+                )
+            );
+        }
+        final Map<String, EnvironmentInfoDescription> latest =
+            new TreeMap<>();
+        for (final EnvironmentInfoDescription info : infos.get()) {
+            latest.merge(
+                info.getEc2InstanceId(), info,
+                (left, right) -> {
+                    final EnvironmentInfoDescription newest;
+                    if (left.getSampleTimestamp().before(
+                        right.getSampleTimestamp()
+                    )) {
+                        newest = right;
+                    } else {
+                        newest = left;
+                    }
+                    return newest;
+                }
+            );
+        }
+        dir.mkdirs();
+        final ExecutorService pool = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(threads, latest.size()))
+        );
+        final Collection<CompletableFuture<File>> downloads =
+            new ArrayList<>(latest.size());
+        try {
+            for (final EnvironmentInfoDescription info : latest.values()) {
+                downloads.add(
+                    CompletableFuture.supplyAsync(
+                        () -> Environment.download(info, dir), pool
+                    )
+                );
+            }
+            final Collection<File> files = new ArrayList<>(downloads.size());
+            for (final CompletableFuture<File> download : downloads) {
+                files.add(download.join());
+            }
+            return files;
+        } catch (final CompletionException ex) {
+            throw new DeploymentException(ex.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
     }
 
     /**
@@ -267,78 +458,107 @@ final class Environment {
             "Environment '%s' updated to '%s'",
             res.getEnvironmentId(), res.getVersionLabel()
         );
+        this.snapshot.invalidate(this.eid);
     }
 
-    private List<EnvironmentInfoDescription> infos() {
+    /**
+     * Forget everything we know about the environment, since it
+     * was changed outside of this object (its CNAME was swapped, for
+     * example).
+     */
+    void invalidate() {
+        this.snapshot.invalidate(this.eid);
+    }
+
+    private List<EnvironmentInfoDescription> infos(final String type) {
         return this.client.retrieveEnvironmentInfo(
             new RetrieveEnvironmentInfoRequest()
                 .withEnvironmentId(this.eid)
-                .withInfoType(EnvironmentInfoType.Tail)
+                .withInfoType(type)
         ).getEnvironmentInfo();
     }
 
-    private EnvironmentDescription description() {
-        final DescribeEnvironmentsResult res = this.client.describeEnvironments(
-            new DescribeEnvironmentsRequest()
-                .withEnvironmentIds(this.eid)
+    private static File download(final EnvironmentInfoDescription info,
+        final File dir) {
+        final File file = new File(
+            dir, String.format("%s.zip", info.getEc2InstanceId())
         );
-        if (res.getEnvironments().isEmpty()) {
-            throw new DeploymentException(
-                String.format("environment '%s' not found", this.eid)
+        final long start = System.currentTimeMillis();
+        try (InputStream input =
+            URI.create(info.getMessage()).toURL().openStream()) {
+            Files.copy(
+                input, file.toPath(), StandardCopyOption.REPLACE_EXISTING
             );
+        } catch (final IOException ex) {
+            throw new IllegalStateException(ex);
         }
-        final EnvironmentDescription desc = res.getEnvironments().get(0);
-        Logger.debug(
-            this,
-            "ID=%s, env=%s, app=%s, CNAME=%s, label=%s, template=%s, status=%s, health=%s",
-            desc.getEnvironmentId(), desc.getEnvironmentName(),
-            desc.getApplicationName(), desc.getCNAME(),
-            desc.getVersionLabel(), desc.getTemplateName(), desc.getStatus(),
-            desc.getHealth()
+        Logger.info(
+            Environment.class,
+            "Logs of %s saved to %s (%d bytes) in %[ms]s",
+            info.getEc2InstanceId(), file, file.length(),
+            System.currentTimeMillis() - start
         );
-        return desc;
+        return file;
+    }
+
+    private EnvironmentDescription description() {
+        return this.snapshot.get(this.eid);
     }
 
-    private boolean until(final Environment.Barrier barrier) {
-        boolean passed = false;
+    private CompletableFuture<Boolean> until(
+        final Environment.Barrier barrier) {
         final long start = System.currentTimeMillis();
-        while (true) {
-            final EnvironmentDescription desc = this.description();
-            if (barrier.allow(desc)) {
-                passed = true;
-                Logger.info(
-                    this,
-                    "Environment '%s/%s/%s': health=%s, status=%s",
-                    desc.getApplicationName(), desc.getEnvironmentName(),
-                    desc.getEnvironmentId(), desc.getHealth(),
-                    desc.getStatus()
-                );
-                break;
-            }
-            Logger.info(
-                this,
-                "Environment '%s/%s/%s': health=%s, status=%s (waiting for %s, %[ms]s)",
-                desc.getApplicationName(), desc.getEnvironmentName(),
-                desc.getEnvironmentId(), desc.getHealth(),
-                desc.getStatus(), barrier.message(),
-                System.currentTimeMillis() - start
-            );
-            if (System.currentTimeMillis() - start > Environment.DELAY_MS) {
-                Logger.warn(
-                    this,
-                    "Environment failed to reach '%s' after %[ms]s",
-                    barrier.message(), System.currentTimeMillis() - start
-                );
-                break;
+        final Watch watch = this.poller.watch(this.client, this.eid);
+        final AtomicReference<EnvironmentDescription> latest =
+            new AtomicReference<>();
+        final AtomicLong checked = new AtomicLong();
+        return this.poller.submit(
+            barrier.message(),
+            watch,
+            () -> {
+                final EnvironmentDescription desc;
+                if (latest.get() == null) {
+                    desc = this.description();
+                } else if (watch.changed()) {
+                    desc = this.snapshot.since(this.eid, checked.get());
+                } else {
+                    desc = latest.get();
+                }
+                latest.set(desc);
+                checked.set(System.currentTimeMillis());
+                final boolean allowed = barrier.allow(desc);
+                if (allowed) {
+                    Logger.info(
+                        this,
+                        "Environment '%s/%s/%s': health=%s, status=%s",
+                        desc.getApplicationName(), desc.getEnvironmentName(),
+                        desc.getEnvironmentId(), desc.getHealth(),
+                        desc.getStatus()
+                    );
+                } else {
+                    Logger.info(
+                        this,
+                        "Environment '%s/%s/%s': health=%s, status=%s (waiting for %s, %[ms]s)",
+                        desc.getApplicationName(), desc.getEnvironmentName(),
+                        desc.getEnvironmentId(), desc.getHealth(),
+                        desc.getStatus(), barrier.message(),
+                        System.currentTimeMillis() - start
+                    );
+                }
+                return allowed;
             }
-            try {
-                TimeUnit.MINUTES.sleep(1);
-            } catch (final InterruptedException ex) {
-                Thread.currentThread().interrupt();
-                throw new DeploymentException(ex);
+        ).thenApply(
+            passed -> {
+                if (!passed) {
+                    Logger.warn(
+                        this,
+                        "Environment failed to reach '%s' after %[ms]s",
+                        barrier.message(), System.currentTimeMillis() - start
+                    );
+                }
+                return passed;
             }
-        }
-        return passed;
+        );
     }
 
     /**
@@ -0,0 +1,154 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEventsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEventsResult;
+import com.amazonaws.services.elasticbeanstalk.model.EventDescription;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * EBT events of an environment, newest first, fetched page by page.
+ * @since 1.0
+ */
+@ToString(of = { "eid", "since", "label", "max" })
+@EqualsAndHashCode(of = { "client", "eid", "since", "label", "max" })
+final class Events implements Iterable<EventDescription> {
+
+    /**
+     * How many events to fetch in one request.
+     */
+    private static final int PAGE = 100;
+
+    /**
+     * AWS beanstalk client.
+     */
+    private final transient AWSElasticBeanstalk client;
+
+    /**
+     * Environment ID.
+     */
+    private final transient String eid;
+
+    /**
+     * The earliest event we are interested in.
+     */
+    private final transient Date since;
+
+    /**
+     * Version label, or NULL if events of all versions are needed.
+     */
+    private final transient String label;
+
+    /**
+     * Maximum number of events.
+     */
+    private final transient int max;
+
+    /**
+     * Public ctor.
+     * @param clnt The client
+     * @param idnt Environment ID
+     * @param start The earliest event we are interested in
+     * @param version Version label, or NULL for all versions
+     * @param limit Maximum number of events
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    Events(@NotNull final AWSElasticBeanstalk clnt,
+        @NotNull final String idnt, @NotNull final Date start,
+        final String version, final int limit) {
+        this.client = clnt;
+        this.eid = idnt;
+        this.since = new Date(start.getTime());
+        this.label = version;
+        this.max = limit;
+    }
+
+    @Override
+    public Iterator<EventDescription> iterator() {
+        return new Events.Pages();
+    }
+
+    /**
+     * Iterator, which fetches pages of events when they are needed.
+     * @since 1.0
+     */
+    private final class Pages implements Iterator<EventDescription> {
+
+        /**
+         * Events fetched, but not returned yet.
+         */
+        private final transient Queue<EventDescription> buffer;
+
+        /**
+         * Token of the next page, or NULL if there are no more pages.
+         */
+        private transient String token;
+
+        /**
+         * Was the first page fetched?
+         */
+        private transient boolean started;
+
+        /**
+         * How many events were returned already.
+         */
+        private transient int count;
+
+        /**
+         * Public ctor.
+         */
+        Pages() {
+            this.buffer = new LinkedList<>();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.count < Events.this.max && this.buffer.isEmpty()
+                && (!this.started || this.token != null)) {
+                this.fetch();
+            }
+            return this.count < Events.this.max && !this.buffer.isEmpty();
+        }
+
+        @Override
+        public EventDescription next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("no more events");
+            }
+            ++this.count;
+            return this.buffer.poll();
+        }
+
+        private void fetch() {
+            final DescribeEventsResult res = Events.this.client.describeEvents(
+                new DescribeEventsRequest()
+                    .withEnvironmentId(Events.this.eid)
+                    .withStartTime(Events.this.since)
+                    .withMaxRecords(
+                        Math.min(Events.PAGE, Events.this.max - this.count)
+                    )
+                    .withNextToken(this.token)
+            );
+            this.started = true;
+            this.token = res.getNextToken();
+            for (final EventDescription event : res.getEvents()) {
+                if (Events.this.label == null
+                    || event.getVersionLabel() == null
+                    || Events.this.label.equals(event.getVersionLabel())) {
+                    this.buffer.add(event);
+                }
+            }
+        }
+    }
+}
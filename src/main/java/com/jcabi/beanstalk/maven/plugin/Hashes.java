@@ -0,0 +1,347 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.jcabi.log.Logger;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Source of digests of files.
+ * @since 1.0
+ */
+interface Hashes {
+
+    /**
+     * Digests of the file.
+     * @param file The file
+     * @return Digests
+     */
+    Digest digest(File file);
+
+    /**
+     * Remember digests of the file, which were made elsewhere, while the
+     * file was read for another reason.
+     * @param file The file
+     * @param digest Its digests, made with the same part size
+     */
+    void remember(File file, Digest digest);
+
+    /**
+     * Digests calculated once and remembered, until the file changes
+     * its size or modification time.
+     * @since 1.0
+     */
+    @ToString(of = "origin")
+    @EqualsAndHashCode(of = "origin")
+    final class Memo implements Hashes {
+
+        /**
+         * Original source.
+         */
+        private final transient Hashes origin;
+
+        /**
+         * Digests calculated, by file.
+         */
+        private final transient ConcurrentMap<File, Hashes.Memo.Entry> memo;
+
+        /**
+         * Public ctor.
+         * @param hashes Original source
+         */
+        Memo(@NotNull final Hashes hashes) {
+            this.origin = hashes;
+            this.memo = new ConcurrentHashMap<>(1);
+        }
+
+        @Override
+        public Digest digest(final File file) {
+            final long size = file.length();
+            final long modified = file.lastModified();
+            return this.memo.compute(
+                file.getAbsoluteFile(),
+                (path, entry) -> {
+                    final Hashes.Memo.Entry fresh;
+                    if (entry == null || entry.size != size
+                        || entry.modified != modified) {
+                        fresh = new Hashes.Memo.Entry(
+                            size, modified, this.origin.digest(file)
+                        );
+                    } else {
+                        fresh = entry;
+                    }
+                    return fresh;
+                }
+            ).digest;
+        }
+
+        @Override
+        public void remember(final File file, final Digest digest) {
+            this.memo.put(
+                file.getAbsoluteFile(),
+                new Hashes.Memo.Entry(
+                    file.length(), file.lastModified(), digest
+                )
+            );
+            this.origin.remember(file, digest);
+        }
+
+        /**
+         * Digests of one file.
+         * @since 1.0
+         */
+        private static final class Entry {
+
+            /**
+             * Size of the file when it was hashed.
+             */
+            private final transient long size;
+
+            /**
+             * Modification time of the file when it was hashed.
+             */
+            private final transient long modified;
+
+            /**
+             * The digests.
+             */
+            private final transient Digest digest;
+
+            /**
+             * Public ctor.
+             * @param bytes Size of the file
+             * @param time Modification time of the file
+             * @param dgst The digests
+             */
+            Entry(final long bytes, final long time, final Digest dgst) {
+                this.size = bytes;
+                this.modified = time;
+                this.digest = dgst;
+            }
+        }
+    }
+
+    /**
+     * Digests kept in a file between builds.
+     * @since 1.0
+     */
+    @ToString(of = { "origin", "index", "part" })
+    @EqualsAndHashCode(of = { "origin", "index", "part" })
+    final class Index implements Hashes {
+
+        /**
+         * Original source.
+         */
+        private final transient Hashes origin;
+
+        /**
+         * The file with the index.
+         */
+        private final transient File index;
+
+        /**
+         * Size of a part of multipart upload, in bytes.
+         */
+        private final transient long part;
+
+        /**
+         * Public ctor.
+         * @param hashes Original source
+         * @param file The file with the index
+         * @param size Size of a part of multipart upload, in bytes
+         */
+        Index(@NotNull final Hashes hashes, @NotNull final File file,
+            final long size) {
+            this.origin = hashes;
+            this.index = file;
+            this.part = size;
+        }
+
+        @Override
+        public Digest digest(final File file) {
+            synchronized (Hashes.Index.class) {
+                final Properties props = this.load();
+                final String path = file.getAbsolutePath();
+                final String stamp = this.stamp(file);
+                final String[] saved = props.getProperty(path, "").split(" ");
+                final Digest digest;
+                if (saved.length == 5 && saved[0].equals(stamp)) {
+                    digest = new Digest(
+                        saved[1], saved[2], saved[3],
+                        Arrays.asList(saved[4].split(","))
+                    );
+                    Logger.info(
+                        this, "Digests of %s found in %s", file, this.index
+                    );
+                } else {
+                    digest = this.origin.digest(file);
+                    this.put(props, file, digest);
+                }
+                return digest;
+            }
+        }
+
+        @Override
+        public void remember(final File file, final Digest digest) {
+            synchronized (Hashes.Index.class) {
+                this.put(this.load(), file, digest);
+            }
+            this.origin.remember(file, digest);
+        }
+
+        private void put(final Properties props, final File file,
+            final Digest digest) {
+            props.setProperty(
+                file.getAbsolutePath(),
+                String.join(
+                    " ", this.stamp(file), digest.md5(), digest.multipart(),
+                    digest.sha256(), String.join(",", digest.parts())
+                )
+            );
+            this.save(props);
+        }
+
+        private String stamp(final File file) {
+            try {
+                final BasicFileAttributes attrs = Files.readAttributes(
+                    file.toPath(), BasicFileAttributes.class
+                );
+                return String.format(
+                    "%d/%d/%s/%d",
+                    attrs.size(), attrs.lastModifiedTime().toMillis(),
+                    String.valueOf(attrs.fileKey()).replace(' ', '_'),
+                    this.part
+                );
+            } catch (final IOException ex) {
+                throw new DeploymentException(ex);
+            }
+        }
+
+        private Properties load() {
+            final Properties props = new Properties();
+            if (this.index.exists()) {
+                try (InputStream input =
+                    Files.newInputStream(this.index.toPath())) {
+                    props.load(input);
+                } catch (final IOException ex) {
+                    Logger.warn(
+                        this, "Ignoring broken index %s: %s", this.index, ex
+                    );
+                }
+            }
+            return props;
+        }
+
+        private void save(final Properties props) {
+            final File temp = new File(
+                this.index.getParentFile(),
+                String.format("%s.tmp", this.index.getName())
+            );
+            try {
+                this.index.getAbsoluteFile().getParentFile().mkdirs();
+                try (OutputStream output =
+                    Files.newOutputStream(temp.toPath())) {
+                    props.store(output, "digests of bundles");
+                }
+                Files.move(
+                    temp.toPath(), this.index.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE
+                );
+            } catch (final IOException ex) {
+                Logger.warn(
+                    this, "Failed to save index %s: %s", this.index, ex
+                );
+            }
+        }
+    }
+
+    /**
+     * Digests made by reading the file, all of them in one pass.
+     * @since 1.0
+     */
+    @ToString(of = "part")
+    @EqualsAndHashCode(of = "part")
+    final class Scan implements Hashes {
+
+        /**
+         * Size of the read buffer, which is allocated outside of the heap,
+         * so that the channel reads into it without copying.
+         */
+        private static final int BUFFER = 4 << 20;
+
+        /**
+         * Size of a part of multipart upload, in bytes.
+         */
+        private final transient long part;
+
+        /**
+         * Timings of deployment phases.
+         */
+        private final transient Timings timings;
+
+        /**
+         * Public ctor.
+         * @param size Size of a part of multipart upload, in bytes
+         * @param tmgs Timings of deployment phases
+         */
+        Scan(final long size, @NotNull final Timings tmgs) {
+            this.part = size;
+            this.timings = tmgs;
+        }
+
+        @Override
+        public Digest digest(final File file) {
+            return this.timings.phase(
+                "hash",
+                () -> {
+                    try {
+                        return this.read(file);
+                    } catch (final IOException ex) {
+                        throw new DeploymentException(ex);
+                    }
+                }
+            );
+        }
+
+        @Override
+        public void remember(final File file, final Digest digest) {
+            // nothing to remember, every file is read again
+        }
+
+        private Digest read(final File file) throws IOException {
+            final Digester digester = new Digester(this.part);
+            final ByteBuffer buf = ByteBuffer.allocateDirect(
+                Hashes.Scan.BUFFER
+            );
+            try (FileChannel channel = FileChannel.open(
+                file.toPath(), StandardOpenOption.READ
+            )) {
+                while (channel.read(buf) >= 0) {
+                    buf.flip();
+                    digester.update(buf);
+                    buf.clear();
+                }
+            }
+            return digester.digest();
+        }
+    }
+}
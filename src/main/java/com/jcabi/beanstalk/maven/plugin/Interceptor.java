@@ -0,0 +1,114 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Proxy of an interface, which does something around every call to
+ * the object behind it.
+ * @param <T> Type of the interface
+ * @since 1.0
+ */
+final class Interceptor<T> implements InvocationHandler {
+
+    /**
+     * The interface.
+     */
+    private final transient Class<T> type;
+
+    /**
+     * The object.
+     */
+    private final transient T origin;
+
+    /**
+     * What to do around every call.
+     */
+    private final transient Interceptor.Around around;
+
+    /**
+     * Public ctor.
+     * @param iface The interface
+     * @param obj The object
+     * @param arnd What to do around every call
+     */
+    Interceptor(final Class<T> iface, final T obj,
+        final Interceptor.Around arnd) {
+        this.type = iface;
+        this.origin = obj;
+        this.around = arnd;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method,
+        final Object[] args) throws Throwable {
+        final Object result;
+        if ("equals".equals(method.getName()) && args.length == 1) {
+            result = proxy == args[0];
+        } else if ("hashCode".equals(method.getName()) && args == null) {
+            result = System.identityHashCode(proxy);
+        } else if (method.getDeclaringClass() == Object.class) {
+            result = this.call(method, args);
+        } else {
+            result = this.around.invoke(method, () -> this.call(method, args));
+        }
+        return result;
+    }
+
+    /**
+     * Make the proxy.
+     * @return The object, which is intercepted
+     */
+    T proxy() {
+        return this.type.cast(
+            Proxy.newProxyInstance(
+                this.type.getClassLoader(), new Class<?>[] {this.type}, this
+            )
+        );
+    }
+
+    private Object call(final Method method, final Object[] args)
+        throws Throwable {
+        try {
+            return method.invoke(this.origin, args);
+        } catch (final InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * What to do around a call.
+     * @since 1.0
+     */
+    interface Around {
+
+        /**
+         * Make the call.
+         * @param method The method called
+         * @param call The call itself
+         * @return What the call returned
+         * @throws Throwable If the call fails
+         */
+        Object invoke(Method method, Interceptor.Call call) throws Throwable;
+    }
+
+    /**
+     * The call to the object.
+     * @since 1.0
+     */
+    interface Call {
+
+        /**
+         * Make it.
+         * @return What the object returned
+         * @throws Throwable If the object fails
+         */
+        Object make() throws Throwable;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.jcabi.log.Logger;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Journal of multipart uploads in progress, which lets the next build
+ * resume an upload, if this one is interrupted.
+ * @since 1.0
+ */
+interface Journal {
+
+    /**
+     * State of the upload of the object, saved last time.
+     * @param bucket S3 bucket
+     * @param key S3 key
+     * @return State, empty if nothing was saved
+     */
+    Properties load(String bucket, String key);
+
+    /**
+     * Save state of the upload of the object.
+     * @param bucket S3 bucket
+     * @param key S3 key
+     * @param state The state
+     * @return TRUE if the state will be loaded by the next build
+     */
+    boolean save(String bucket, String key, Properties state);
+
+    /**
+     * Forget the upload of the object.
+     * @param bucket S3 bucket
+     * @param key S3 key
+     */
+    void delete(String bucket, String key);
+
+    /**
+     * Journal that keeps nothing.
+     * @since 1.0
+     */
+    @ToString
+    @EqualsAndHashCode
+    final class Empty implements Journal {
+
+        @Override
+        public Properties load(final String bucket, final String key) {
+            return new Properties();
+        }
+
+        @Override
+        public boolean save(final String bucket, final String key,
+            final Properties state) {
+            return false;
+        }
+
+        @Override
+        public void delete(final String bucket, final String key) {
+            // nothing to delete
+        }
+    }
+
+    /**
+     * Journal in a directory, a file per S3 object.
+     * @since 1.0
+     */
+    @ToString(of = "dir")
+    @EqualsAndHashCode(of = "dir")
+    final class Dir implements Journal {
+
+        /**
+         * The directory.
+         */
+        private final transient File dir;
+
+        /**
+         * Public ctor.
+         * @param path The directory
+         */
+        Dir(@NotNull final File path) {
+            this.dir = path;
+        }
+
+        @Override
+        public Properties load(final String bucket, final String key) {
+            final File file = this.file(bucket, key);
+            final Properties props = new Properties();
+            if (file.exists()) {
+                try (InputStream input = Files.newInputStream(file.toPath())) {
+                    props.load(input);
+                } catch (final IOException ex) {
+                    Logger.warn(
+                        this, "Ignoring broken journal %s: %s", file, ex
+                    );
+                }
+            }
+            return props;
+        }
+
+        @Override
+        public boolean save(final String bucket, final String key,
+            final Properties state) {
+            final File file = this.file(bucket, key);
+            final File temp = new File(
+                this.dir, String.format("%s.tmp", file.getName())
+            );
+            boolean saved;
+            synchronized (this.dir) {
+                try {
+                    this.dir.mkdirs();
+                    try (OutputStream output =
+                        Files.newOutputStream(temp.toPath())) {
+                        state.store(
+                            output, String.format("s3://%s/%s", bucket, key)
+                        );
+                    }
+                    Files.move(
+                        temp.toPath(), file.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE
+                    );
+                    saved = true;
+                } catch (final IOException ex) {
+                    Logger.warn(
+                        this, "Failed to save journal %s: %s", file, ex
+                    );
+                    saved = false;
+                }
+            }
+            return saved;
+        }
+
+        @Override
+        public void delete(final String bucket, final String key) {
+            final File file = this.file(bucket, key);
+            synchronized (this.dir) {
+                if (file.exists() && !file.delete()) {
+                    Logger.warn(this, "Failed to delete journal %s", file);
+                }
+            }
+        }
+
+        private File file(final String bucket, final String key) {
+            return new File(
+                this.dir,
+                String.format(
+                    "%s.properties",
+                    DigestUtils.md5Hex(String.format("%s/%s", bucket, key))
+                )
+            );
+        }
+    }
+}
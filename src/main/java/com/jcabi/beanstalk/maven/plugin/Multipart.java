@@ -0,0 +1,809 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CopyPartRequest;
+import com.amazonaws.services.s3.model.CopyPartResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
+import com.amazonaws.services.s3.model.ListPartsRequest;
+import com.amazonaws.services.s3.model.MultipartUpload;
+import com.amazonaws.services.s3.model.MultipartUploadListing;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PartListing;
+import com.amazonaws.services.s3.model.PartSummary;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.jcabi.log.Logger;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Upload of a file to S3, in parts, in parallel, resuming failed
+ * uploads and copying unchanged parts of the object being replaced.
+ * @since 1.0
+ */
+@ToString(of = { "part", "threads", "journal", "stale" })
+@EqualsAndHashCode(of = { "client", "part", "threads", "journal", "stale" })
+final class Multipart {
+
+    /**
+     * Default size of a part, in bytes.
+     */
+    static final long PART = 16L << 20;
+
+    /**
+     * Default age of an abandoned upload, in milliseconds.
+     */
+    static final long STALE = TimeUnit.DAYS.toMillis(1L);
+
+    /**
+     * Minimum size of a part S3 accepts, except the last one, in bytes.
+     */
+    static final long MIN_PART = 5L << 20;
+
+    /**
+     * Maximum number of parts S3 accepts in one upload.
+     */
+    private static final int MAX_PARTS = 10_000;
+
+    /**
+     * How many times to try every part.
+     */
+    private static final int ATTEMPTS = 3;
+
+    /**
+     * Suffix of the S3 key of the manifest.
+     */
+    static final String MANIFEST = ".parts";
+
+    /**
+     * Amazon S3 client.
+     */
+    private final transient AmazonS3 client;
+
+    /**
+     * Size of a part, in bytes.
+     */
+    private final transient long part;
+
+    /**
+     * How many parts to upload at the same time.
+     */
+    private final transient int threads;
+
+    /**
+     * Journal of uploads in progress.
+     */
+    private final transient Journal journal;
+
+    /**
+     * Age of an upload of the same object, after which it is abandoned,
+     * in milliseconds.
+     */
+    private final transient long stale;
+
+    /**
+     * Public ctor, with default part size and four workers.
+     * @param clnt The client
+     */
+    Multipart(@NotNull final AmazonS3 clnt) {
+        this(clnt, Multipart.PART, 4);
+    }
+
+    /**
+     * Public ctor.
+     * @param clnt The client
+     * @param size Size of a part, in bytes
+     * @param workers How many parts to upload at the same time
+     */
+    Multipart(@NotNull final AmazonS3 clnt, final long size,
+        final int workers) {
+        this(clnt, size, workers, new Journal.Empty());
+    }
+
+    /**
+     * Public ctor.
+     * @param clnt The client
+     * @param size Size of a part, in bytes
+     * @param workers How many parts to upload at the same time
+     * @param jrnl Journal of uploads in progress
+     */
+    Multipart(@NotNull final AmazonS3 clnt, final long size,
+        final int workers, @NotNull final Journal jrnl) {
+        this(clnt, size, workers, jrnl, Multipart.STALE);
+    }
+
+    /**
+     * Public ctor.
+     * @param clnt The client
+     * @param size Size of a part, in bytes
+     * @param workers How many parts to upload at the same time
+     * @param jrnl Journal of uploads in progress
+     * @param age Age of an abandoned upload, in milliseconds
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    Multipart(@NotNull final AmazonS3 clnt, final long size,
+        final int workers, @NotNull final Journal jrnl, final long age) {
+        this.client = clnt;
+        this.part = size;
+        this.threads = workers;
+        this.journal = jrnl;
+        this.stale = age;
+    }
+
+    /**
+     * Upload the file, copying parts of the object being replaced only
+     * where they are the same at the same offset.
+     * @param bucket S3 bucket
+     * @param key S3 key
+     * @param file The file
+     * @param digest Digests of the file, made with the same part size
+     * @return ETag of the object in S3
+     */
+    String upload(@NotNull final String bucket, @NotNull final String key,
+        @NotNull final File file, @NotNull final Digest digest) {
+        final String etag;
+        if (file.length() <= this.part) {
+            etag = this.client.putObject(
+                new PutObjectRequest(bucket, key, file)
+                    .withMetadata(digest.metadata())
+            ).getETag();
+        } else {
+            etag = new Multipart.Upload(bucket, key, file).run(digest);
+        }
+        return etag;
+    }
+
+    /**
+     * Hash and upload the file, reading it only once, and abort the
+     * upload if the check of the digests says it is not needed.
+     * @param bucket S3 bucket
+     * @param key S3 key
+     * @param file The file
+     * @param needed Check of the digests, whether the upload is needed
+     * @return Digests of the file, made with the part size of this upload
+     */
+    Digest stream(@NotNull final String bucket, @NotNull final String key,
+        @NotNull final File file, @NotNull final Predicate<Digest> needed) {
+        try {
+            final Digest digest;
+            if (file.length() <= this.part) {
+                digest = this.single(bucket, key, file, needed);
+            } else {
+                digest = new Multipart.Upload(bucket, key, file).stream(needed);
+            }
+            return digest;
+        } catch (final IOException ex) {
+            throw new DeploymentException(ex);
+        }
+    }
+
+    private Digest single(final String bucket, final String key,
+        final File file, final Predicate<Digest> needed) throws IOException {
+        final byte[] bytes = Files.readAllBytes(file.toPath());
+        final Digester digester = new Digester(this.part);
+        digester.update(ByteBuffer.wrap(bytes));
+        final Digest digest = digester.digest();
+        if (needed.test(digest)) {
+            final ObjectMetadata meta = digest.metadata();
+            meta.setContentLength(bytes.length);
+            this.client.putObject(
+                new PutObjectRequest(
+                    bucket, key, new ByteArrayInputStream(bytes), meta
+                )
+            );
+        }
+        return digest;
+    }
+
+    /**
+     * One multipart upload.
+     * @since 1.0
+     */
+    private final class Upload {
+
+        /**
+         * Property of the state with the upload ID.
+         */
+        private static final String ID = "upload";
+
+        /**
+         * Property of the state with the part size.
+         */
+        private static final String SIZE = "part";
+
+        /**
+         * Property of the state with the user metadata of the object.
+         */
+        private static final String META = "metadata";
+
+        /**
+         * S3 bucket.
+         */
+        private final transient String bucket;
+
+        /**
+         * S3 key.
+         */
+        private final transient String key;
+
+        /**
+         * The file.
+         */
+        private final transient File file;
+
+        /**
+         * How many parts were copied inside S3.
+         */
+        private final transient AtomicInteger copied;
+
+        /**
+         * How many parts were done by the upload being resumed.
+         */
+        private final transient AtomicInteger resumed;
+
+        /**
+         * State of the upload, for the journal.
+         */
+        private final transient Properties state;
+
+        /**
+         * Does the journal keep the state for the next build?
+         */
+        private final transient AtomicBoolean kept;
+
+        /**
+         * Is the upload given up, so that parts are not journaled any more?
+         */
+        private final transient AtomicBoolean dropped;
+
+        /**
+         * Public ctor.
+         * @param bckt S3 bucket
+         * @param name S3 key
+         * @param src The file
+         */
+        Upload(final String bckt, final String name, final File src) {
+            this.bucket = bckt;
+            this.key = name;
+            this.file = src;
+            this.copied = new AtomicInteger();
+            this.resumed = new AtomicInteger();
+            this.state = new Properties();
+            this.kept = new AtomicBoolean();
+            this.dropped = new AtomicBoolean();
+        }
+
+        /**
+         * Upload all parts of the file and complete the upload.
+         * @param digest Digests of the file
+         * @return ETag of the object
+         */
+        String run(final Digest digest) {
+            final int total = this.total();
+            final String uid = this.initiate(digest.metadata(), total);
+            final List<String> previous = this.manifest();
+            final ExecutorService pool = this.pool(total);
+            try {
+                final List<CompletableFuture<PartETag>> futures =
+                    new ArrayList<>(total);
+                for (int num = 1; num <= total; ++num) {
+                    final int idx = num;
+                    final long offset = this.offset(idx);
+                    futures.add(
+                        CompletableFuture.supplyAsync(
+                            () -> this.send(
+                                uid, idx, digest.parts().get(idx - 1),
+                                previous,
+                                req -> req.withFile(this.file)
+                                    .withFileOffset(offset)
+                            ),
+                            pool
+                        )
+                    );
+                }
+                final String etag = this.complete(uid, futures);
+                this.save(etag, digest);
+                return etag;
+            } catch (final CompletionException ex) {
+                this.fail(uid);
+                throw new DeploymentException(ex.getCause());
+            // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final RuntimeException ex) {
+                this.fail(uid);
+                throw ex;
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        /**
+         * Read the file once, hash it and upload its parts from memory.
+         * @param needed Check of the digests, whether the upload is needed
+         * @return Digests of the file
+         * @throws IOException If fails to read the file
+         */
+        Digest stream(final Predicate<Digest> needed) throws IOException {
+            final int total = this.total();
+            final String uid = this.initiate(new ObjectMetadata(), total);
+            final List<String> previous = this.manifest();
+            final ExecutorService pool = this.pool(total);
+            final int slots = Math.min(Multipart.this.threads, total) + 1;
+            final BlockingQueue<byte[]> buffers =
+                new ArrayBlockingQueue<>(slots);
+            try {
+                final Digester digester = new Digester(Multipart.this.part);
+                final List<CompletableFuture<PartETag>> futures =
+                    new ArrayList<>(total);
+                try (FileChannel channel = FileChannel.open(
+                    this.file.toPath(), StandardOpenOption.READ
+                )) {
+                    for (int num = 1; num <= total; ++num) {
+                        final int idx = num;
+                        final byte[] buf;
+                        if (idx <= slots) {
+                            buf = new byte[(int) Multipart.this.part];
+                        } else {
+                            buf = this.take(buffers);
+                        }
+                        final int len = this.read(channel, buf);
+                        digester.update(ByteBuffer.wrap(buf, 0, len));
+                        if (idx == total) {
+                            digester.end();
+                        }
+                        final String md5 = digester.part(idx);
+                        futures.add(
+                            CompletableFuture.supplyAsync(
+                                () -> this.send(
+                                    uid, idx, md5, previous,
+                                    req -> req.withInputStream(
+                                        new ByteArrayInputStream(buf, 0, len)
+                                    )
+                                ),
+                                pool
+                            ).whenComplete((etag, ex) -> buffers.offer(buf))
+                        );
+                    }
+                }
+                final Digest digest = digester.digest();
+                if (needed.test(digest)) {
+                    this.save(this.complete(uid, futures), digest);
+                } else {
+                    Logger.info(
+                        this, "Upload %s is not needed any more", uid
+                    );
+                    this.dropped.set(true);
+                    futures.forEach(future -> future.cancel(true));
+                    this.stop(pool);
+                    this.abort(uid);
+                    Multipart.this.journal.delete(this.bucket, this.key);
+                }
+                return digest;
+            } catch (final CompletionException ex) {
+                this.fail(uid);
+                throw new DeploymentException(ex.getCause());
+            // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final IOException | RuntimeException ex) {
+                this.fail(uid);
+                throw ex;
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        private void stop(final ExecutorService pool) {
+            pool.shutdownNow();
+            try {
+                if (!pool.awaitTermination(1L, TimeUnit.MINUTES)) {
+                    Logger.warn(this, "Some parts are still being sent");
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new DeploymentException(ex);
+            }
+        }
+
+        private int total() {
+            final long total = (this.file.length() + Multipart.this.part - 1L)
+                / Multipart.this.part;
+            if (total > Multipart.MAX_PARTS) {
+                throw new DeploymentException(
+                    String.format(
+                        "%s is too big for %d-byte parts, S3 accepts up to %d parts",
+                        this.file, Multipart.this.part, Multipart.MAX_PARTS
+                    )
+                );
+            }
+            return (int) total;
+        }
+
+        private long offset(final int num) {
+            return (num - 1L) * Multipart.this.part;
+        }
+
+        private ExecutorService pool(final int total) {
+            return Executors.newFixedThreadPool(
+                Math.min(Multipart.this.threads, total)
+            );
+        }
+
+        private String initiate(final ObjectMetadata meta, final int total) {
+            final String size = Long.toString(Multipart.this.part);
+            final String attrs = new TreeMap<>(meta.getUserMetadata())
+                .toString();
+            final Properties saved = Multipart.this.journal.load(
+                this.bucket, this.key
+            );
+            final boolean same = size.equals(
+                saved.getProperty(Multipart.Upload.SIZE)
+            ) && attrs.equals(saved.getProperty(Multipart.Upload.META));
+            String uid = saved.getProperty(Multipart.Upload.ID);
+            if (uid != null && !(same && this.alive(uid, saved))) {
+                Logger.info(this, "Upload %s can't be resumed", uid);
+                this.abort(uid);
+                uid = null;
+            }
+            this.sweep(uid);
+            if (uid == null) {
+                uid = Multipart.this.client.initiateMultipartUpload(
+                    new InitiateMultipartUploadRequest(
+                        this.bucket, this.key, meta
+                    )
+                ).getUploadId();
+                Logger.info(
+                    this, "Multipart upload %s started, %d parts of %d bytes",
+                    uid, total, Multipart.this.part
+                );
+            } else {
+                Logger.info(
+                    this, "Multipart upload %s resumed, %d parts of %d done",
+                    uid, this.state.size(), total
+                );
+            }
+            this.state.setProperty(Multipart.Upload.ID, uid);
+            this.state.setProperty(Multipart.Upload.SIZE, size);
+            this.state.setProperty(Multipart.Upload.META, attrs);
+            this.kept.set(
+                Multipart.this.journal.save(this.bucket, this.key, this.state)
+            );
+            return uid;
+        }
+
+        private void sweep(final String own) {
+            final Date before = new Date(
+                System.currentTimeMillis() - Multipart.this.stale
+            );
+            String marker = null;
+            String next = null;
+            try {
+                while (true) {
+                    final MultipartUploadListing listing = Multipart.this
+                        .client.listMultipartUploads(
+                            new ListMultipartUploadsRequest(this.bucket)
+                                .withPrefix(this.key)
+                                .withKeyMarker(marker)
+                                .withUploadIdMarker(next)
+                        );
+                    for (final MultipartUpload upload
+                        : listing.getMultipartUploads()) {
+                        if (this.key.equals(upload.getKey())
+                            && !upload.getUploadId().equals(own)
+                            && upload.getInitiated().before(before)) {
+                            Logger.info(
+                                this, "Upload %s is abandoned since %s",
+                                upload.getUploadId(), upload.getInitiated()
+                            );
+                            this.abort(upload.getUploadId());
+                        }
+                    }
+                    if (!listing.isTruncated()) {
+                        break;
+                    }
+                    marker = listing.getNextKeyMarker();
+                    next = listing.getNextUploadIdMarker();
+                }
+            } catch (final AmazonClientException ex) {
+                Logger.warn(
+                    this, "Failed to list uploads of '%s': %s",
+                    this.key, ex.getMessage()
+                );
+            }
+        }
+
+        private boolean alive(final String uid, final Properties saved) {
+            boolean alive = true;
+            Integer marker = null;
+            try {
+                while (true) {
+                    final PartListing listing = Multipart.this.client
+                        .listParts(
+                            new ListPartsRequest(this.bucket, this.key, uid)
+                                .withPartNumberMarker(marker)
+                        );
+                    for (final PartSummary part : listing.getParts()) {
+                        final String num = Integer.toString(
+                            part.getPartNumber()
+                        );
+                        final String etag = part.getETag().replace("\"", "");
+                        if (etag.equals(saved.getProperty(num))) {
+                            this.state.setProperty(num, etag);
+                        }
+                    }
+                    if (!listing.isTruncated()) {
+                        break;
+                    }
+                    marker = listing.getNextPartNumberMarker();
+                }
+            } catch (final AmazonServiceException ex) {
+                if (ex.getStatusCode() != HttpURLConnection.HTTP_NOT_FOUND) {
+                    throw ex;
+                }
+                alive = false;
+            }
+            return alive;
+        }
+
+        private int read(final FileChannel channel, final byte[] buf)
+            throws IOException {
+            final ByteBuffer target = ByteBuffer.wrap(
+                buf, 0, (int) Math.min(buf.length, channel.size()
+                    - channel.position())
+            );
+            while (target.hasRemaining()) {
+                if (channel.read(target) < 0) {
+                    throw new IOException(
+                        String.format("%s was truncated", this.file)
+                    );
+                }
+            }
+            return target.position();
+        }
+
+        private String complete(final String uid,
+            final List<CompletableFuture<PartETag>> futures) {
+            final List<PartETag> etags = new ArrayList<>(futures.size());
+            for (final CompletableFuture<PartETag> future : futures) {
+                try {
+                    etags.add(future.get());
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new DeploymentException(ex);
+                } catch (final ExecutionException ex) {
+                    throw new CompletionException(ex.getCause());
+                }
+            }
+            final String etag = Multipart.this.client.completeMultipartUpload(
+                new CompleteMultipartUploadRequest(
+                    this.bucket, this.key, uid, etags
+                )
+            ).getETag();
+            Multipart.this.journal.delete(this.bucket, this.key);
+            Logger.info(
+                this, "%d part(s) of %d resumed, %d copied inside S3, %d sent",
+                this.resumed.get(), etags.size(), this.copied.get(),
+                etags.size() - this.resumed.get() - this.copied.get()
+            );
+            return etag;
+        }
+
+        /**
+         * Send one part, or copy it from the object being replaced.
+         * @param uid Upload ID
+         * @param num Number of the part
+         * @param md5 MD5 of the part, in hex
+         * @param previous Manifest of the object being replaced
+         * @param body Sets the content of the part to the request
+         * @return ETag of the part
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        private PartETag send(final String uid, final int num,
+            final String md5, final List<String> previous,
+            final UnaryOperator<UploadPartRequest> body) {
+            final long offset = this.offset(num);
+            final long size = Math.min(
+                Multipart.this.part, this.file.length() - offset
+            );
+            PartETag etag = null;
+            final String done = this.state.getProperty(Integer.toString(num));
+            if (md5.equals(done)) {
+                this.resumed.incrementAndGet();
+                etag = new PartETag(num, done);
+            }
+            if (etag == null && this.unchanged(num, md5, previous)) {
+                final CopyPartResult res = this.retry(
+                    uid, num,
+                    () -> Multipart.this.client.copyPart(
+                        new CopyPartRequest()
+                            .withSourceBucketName(this.bucket)
+                            .withSourceKey(this.key)
+                            .withDestinationBucketName(this.bucket)
+                            .withDestinationKey(this.key)
+                            .withUploadId(uid)
+                            .withPartNumber(num)
+                            .withFirstByte(offset)
+                            .withLastByte(offset + size - 1L)
+                            .withMatchingETagConstraint(previous.get(0))
+                    )
+                );
+                if (res != null) {
+                    this.copied.incrementAndGet();
+                    etag = res.getPartETag();
+                }
+            }
+            if (etag == null) {
+                etag = this.retry(
+                    uid, num,
+                    () -> Multipart.this.client.uploadPart(
+                        body.apply(
+                            new UploadPartRequest()
+                                .withBucketName(this.bucket)
+                                .withKey(this.key)
+                                .withUploadId(uid)
+                                .withPartNumber(num)
+                                .withPartSize(size)
+                        )
+                    ).getPartETag()
+                );
+            }
+            this.state.setProperty(Integer.toString(num), etag.getETag());
+            if (!this.dropped.get()) {
+                Multipart.this.journal.save(this.bucket, this.key, this.state);
+            }
+            return etag;
+        }
+
+        private <T> T retry(final String uid, final int num,
+            final Supplier<T> request) {
+            final Backoff backoff = new Backoff.Exponential(
+                TimeUnit.SECONDS.toMillis(1L), TimeUnit.SECONDS.toMillis(10L)
+            );
+            int attempt = 1;
+            while (true) {
+                try {
+                    return request.get();
+                } catch (final AmazonClientException ex) {
+                    if (attempt >= Multipart.ATTEMPTS) {
+                        throw ex;
+                    }
+                    final long delay = backoff.delay(attempt);
+                    Logger.warn(
+                        this, "Part #%d of %s failed (%s), retrying in %[ms]s",
+                        num, uid, ex.getMessage(), delay
+                    );
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(delay);
+                    } catch (final InterruptedException iex) {
+                        Thread.currentThread().interrupt();
+                        throw new DeploymentException(iex);
+                    }
+                    ++attempt;
+                }
+            }
+        }
+
+        private List<String> manifest() {
+            List<String> lines;
+            try (InputStream input = Multipart.this.client.getObject(
+                this.bucket, this.key + Multipart.MANIFEST
+            ).getObjectContent()) {
+                lines = IOUtils.readLines(input, StandardCharsets.UTF_8);
+            } catch (final AmazonServiceException ex) {
+                if (ex.getStatusCode() != HttpURLConnection.HTTP_NOT_FOUND) {
+                    throw ex;
+                }
+                lines = Collections.emptyList();
+            } catch (final IOException ex) {
+                Logger.warn(
+                    this, "Ignoring broken manifest of '%s': %s",
+                    this.key, ex.getMessage()
+                );
+                lines = Collections.emptyList();
+            }
+            return lines;
+        }
+
+        private void save(final String etag, final Digest digest) {
+            final List<String> lines = new ArrayList<>(0);
+            lines.add(etag);
+            lines.add(Long.toString(Multipart.this.part));
+            lines.addAll(digest.parts());
+            final byte[] bytes = String.join("\n", lines)
+                .getBytes(StandardCharsets.UTF_8);
+            final ObjectMetadata meta = new ObjectMetadata();
+            meta.setContentLength(bytes.length);
+            meta.setContentType("text/plain");
+            try {
+                Multipart.this.client.putObject(
+                    this.bucket, this.key + Multipart.MANIFEST,
+                    new ByteArrayInputStream(bytes), meta
+                );
+            } catch (final AmazonClientException ex) {
+                Logger.warn(
+                    this, "Failed to save manifest of '%s': %s",
+                    this.key, ex.getMessage()
+                );
+            }
+        }
+
+        private void fail(final String uid) {
+            if (this.kept.get()) {
+                Logger.warn(
+                    this, "Upload %s is kept, the next build will resume it",
+                    uid
+                );
+            } else {
+                this.abort(uid);
+            }
+        }
+
+        private void abort(final String uid) {
+            Logger.warn(this, "Aborting multipart upload %s", uid);
+            try {
+                Multipart.this.client.abortMultipartUpload(
+                    new AbortMultipartUploadRequest(this.bucket, this.key, uid)
+                );
+            } catch (final AmazonClientException ex) {
+                Logger.warn(
+                    this, "Failed to abort upload %s: %s",
+                    uid, ex.getMessage()
+                );
+            }
+        }
+
+        private boolean unchanged(final int num, final String md5,
+            final List<String> previous) {
+            return previous.size() > num + 1
+                && previous.get(1).equals(Long.toString(Multipart.this.part))
+                && previous.get(num + 1).equals(md5);
+        }
+
+        private byte[] take(final BlockingQueue<byte[]> buffers) {
+            try {
+                return buffers.take();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new DeploymentException(ex);
+            }
+        }
+    }
+}
@@ -4,24 +4,18 @@
  */
 package com.jcabi.beanstalk.maven.plugin;
 
+import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.elasticbeanstalk.model.S3Location;
 import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.ListObjectsRequest;
-import com.amazonaws.services.s3.model.ObjectListing;
 import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.PutObjectResult;
-import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.jcabi.aspects.Cacheable;
 import com.jcabi.aspects.Loggable;
 import com.jcabi.log.Logger;
 import java.io.File;
-import java.io.IOException;
-import java.util.List;
+import java.net.HttpURLConnection;
 import javax.validation.constraints.NotNull;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
-import org.apache.commons.codec.digest.DigestUtils;
-import org.apache.commons.codec.digest.MessageDigestAlgorithms;
 import org.apache.commons.io.FileUtils;
 
 /**
@@ -53,6 +47,21 @@ final class OverridingBundle implements Bundle {
      */
     private final transient File war;
 
+    /**
+     * Timings of deployment phases.
+     */
+    private final transient Timings timings;
+
+    /**
+     * The way to upload the file.
+     */
+    private final transient Multipart multipart;
+
+    /**
+     * Source of digests of the file.
+     */
+    private final transient Hashes hashes;
+
     /**
      * Public ctor.
      * @param clnt The client
@@ -63,7 +72,46 @@ final class OverridingBundle implements Bundle {
     OverridingBundle(@NotNull final AmazonS3 clnt,
         @NotNull final String bckt, @NotNull final String label,
         @NotNull final File file) {
-        this(OverridingBundle.existing(file), clnt, bckt, label);
+        this(clnt, bckt, label, file, new Timings());
+    }
+
+    /**
+     * Public ctor.
+     * @param clnt The client
+     * @param bckt S3 bucket
+     * @param label Location of S3 object, label name
+     * @param file WAR file location
+     * @param tmgs Timings of deployment phases
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    OverridingBundle(@NotNull final AmazonS3 clnt,
+        @NotNull final String bckt, @NotNull final String label,
+        @NotNull final File file, @NotNull final Timings tmgs) {
+        this(
+            clnt, bckt, label, file, tmgs, new Multipart(clnt),
+            new Hashes.Memo(new Hashes.Scan(Multipart.PART, tmgs))
+        );
+    }
+
+    /**
+     * Public ctor.
+     * @param clnt The client
+     * @param bckt S3 bucket
+     * @param label Location of S3 object, label name
+     * @param file WAR file location
+     * @param tmgs Timings of deployment phases
+     * @param mpart The way to upload the file
+     * @param hsh Source of digests, with the same part size as upload
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    OverridingBundle(@NotNull final AmazonS3 clnt,
+        @NotNull final String bckt, @NotNull final String label,
+        @NotNull final File file, @NotNull final Timings tmgs,
+        @NotNull final Multipart mpart, @NotNull final Hashes hsh) {
+        this(
+            OverridingBundle.existing(file), clnt, bckt, label, tmgs,
+            mpart, hsh
+        );
     }
 
     /**
@@ -72,19 +120,30 @@ final class OverridingBundle implements Bundle {
      * @param clnt The client
      * @param bckt S3 bucket
      * @param label Location of S3 object, label name
+     * @param tmgs Timings of deployment phases
+     * @param mpart The way to upload the file
+     * @param hsh Source of digests
+     * @checkstyle ParameterNumberCheck (5 lines)
      */
     private OverridingBundle(final File file, final AmazonS3 clnt,
-        final String bckt, final String label) {
+        final String bckt, final String label, final Timings tmgs,
+        final Multipart mpart, final Hashes hsh) {
         this.client = clnt;
         this.bucket = bckt;
         this.key = label;
         this.war = file;
+        this.timings = tmgs;
+        this.multipart = mpart;
+        this.hashes = hsh;
     }
 
     @Cacheable
     @Override
     public S3Location location() {
-        if (this.exists()) {
+        final ObjectMetadata meta = this.metadata();
+        if (meta == null || meta.getContentLength() != this.war.length()) {
+            this.stream();
+        } else if (this.same(meta)) {
             Logger.info(
                 this,
                 "No need to upload %s (%s) to S3, will use existing object",
@@ -92,23 +151,15 @@ final class OverridingBundle implements Bundle {
                 FileUtils.byteCountToDisplaySize(this.war.length())
             );
         } else {
-            Logger.info(
-                this,
-                "Uploading %s (%s) to s3://%s/%s... (may take a few minutes)",
-                this.war,
-                FileUtils.byteCountToDisplaySize(this.war.length()),
-                this.bucket, this.key
-            );
-            final PutObjectResult res = this.client.putObject(
-                this.bucket, this.key, this.war
-            );
-            Logger.info(
-                this,
-                "Uploaded successfully to S3, etag=%s, expires=%s, exp.rule=%s, encryption=%s, version=%s",
-                res.getETag(), res.getExpirationTime(),
-                res.getExpirationTimeRuleId(), res.getServerSideEncryption(),
-                res.getVersionId()
+            this.announce();
+            final String etag = this.timings.phase(
+                "upload",
+                () -> this.multipart.upload(
+                    this.bucket, this.key, this.war,
+                    this.hashes.digest(this.war)
+                )
             );
+            Logger.info(this, "Uploaded successfully to S3, etag=%s", etag);
         }
         return new S3Location(this.bucket, this.key);
     }
@@ -120,70 +171,76 @@ final class OverridingBundle implements Bundle {
 
     @Override
     public String etag() {
-        try {
-            return new DigestUtils(MessageDigestAlgorithms.MD5)
-                .digestAsHex(this.war);
-        } catch (final IOException ex) {
-            throw new DeploymentException(ex);
-        }
+        return this.hashes.digest(this.war).md5();
     }
 
-    private boolean exists() {
-        boolean exists = false;
-        if (this.keyExists()) {
-            final ObjectMetadata meta = this.client.getObjectMetadata(
-                this.bucket, this.key
-            );
-            final String etag = this.etag();
-            if (meta.getETag().equals(etag)) {
-                Logger.info(
-                    this,
-                    "MD5 ETag '%s' of existing S3 object '%s' (%s) equals to the one of the local file (%s)",
-                    meta.getETag(), this.key,
-                    FileUtils.byteCountToDisplaySize(meta.getContentLength()),
-                    FileUtils.byteCountToDisplaySize(this.war.length())
-                );
-                exists = true;
-            } else {
-                Logger.info(
-                    this,
-                    "MD5 ETag '%s' of S3 object '%s' (%s) differs from '%s' of the local file (%s)",
-                    meta.getETag(), this.key,
-                    FileUtils.byteCountToDisplaySize(meta.getContentLength()),
-                    etag, FileUtils.byteCountToDisplaySize(this.war.length())
-                );
-            }
-        }
-        return exists;
+    private void stream() {
+        this.announce();
+        final Digest digest = this.timings.phase(
+            "upload",
+            () -> this.multipart.stream(
+                this.bucket, this.key, this.war,
+                dgst -> {
+                    final ObjectMetadata meta = this.metadata();
+                    return meta == null || !dgst.matches(meta);
+                }
+            )
+        );
+        this.hashes.remember(this.war, digest);
+        Logger.info(this, "Uploaded successfully to S3, %s", digest);
     }
 
-    private boolean keyExists() {
-        final ObjectListing listing = this.client.listObjects(
-            new ListObjectsRequest()
-                .withBucketName(this.bucket)
-                .withDelimiter("")
-                .withMaxKeys(1)
-                .withPrefix(this.key)
+    private void announce() {
+        Logger.info(
+            this,
+            "Uploading %s (%s) to s3://%s/%s... (may take a few minutes)",
+            this.war,
+            FileUtils.byteCountToDisplaySize(this.war.length()),
+            this.bucket, this.key
         );
-        final List<S3ObjectSummary> summaries = listing.getObjectSummaries();
-        boolean exists = false;
-        if (summaries.isEmpty()) {
+    }
+
+    private boolean same(final ObjectMetadata meta) {
+        final Digest digest = this.hashes.digest(this.war);
+        final boolean same = digest.matches(meta);
+        if (same) {
             Logger.info(
                 this,
-                "S3 object '%s' not found in '%s' bucket",
-                this.key, this.bucket
+                "S3 object '%s' (%s, etag=%s) has the same content as the local file (%s)",
+                this.key,
+                FileUtils.byteCountToDisplaySize(meta.getContentLength()),
+                meta.getETag(),
+                FileUtils.byteCountToDisplaySize(this.war.length())
             );
         } else {
-            final S3ObjectSummary summary = summaries.get(0);
             Logger.info(
                 this,
-                "S3 object '%s' found in '%s' bucket (size=%d, last-modified=%s, etag=%s)",
-                summary.getKey(), summary.getBucketName(), summary.getSize(),
-                summary.getLastModified(), summary.getETag()
+                "S3 object '%s' (%s, etag=%s) differs from %s of the local file (%s)",
+                this.key,
+                FileUtils.byteCountToDisplaySize(meta.getContentLength()),
+                meta.getETag(), digest,
+                FileUtils.byteCountToDisplaySize(this.war.length())
+            );
+        }
+        return same;
+    }
+
+    private ObjectMetadata metadata() {
+        ObjectMetadata meta;
+        try {
+            meta = this.client.getObjectMetadata(this.bucket, this.key);
+        } catch (final AmazonServiceException ex) {
+            if (ex.getStatusCode() != HttpURLConnection.HTTP_NOT_FOUND) {
+                throw ex;
+            }
+            Logger.info(
+                this,
+                "S3 object '%s' not found in '%s' bucket",
+                this.key, this.bucket
             );
-            exists = true;
+            meta = null;
         }
-        return exists;
+        return meta;
     }
 
     private static File existing(final File file) {
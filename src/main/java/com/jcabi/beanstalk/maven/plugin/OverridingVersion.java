@@ -9,8 +9,6 @@ import com.amazonaws.services.elasticbeanstalk.model.ApplicationVersionDescripti
 import com.amazonaws.services.elasticbeanstalk.model.CreateApplicationVersionRequest;
 import com.amazonaws.services.elasticbeanstalk.model.CreateApplicationVersionResult;
 import com.amazonaws.services.elasticbeanstalk.model.DeleteApplicationVersionRequest;
-import com.amazonaws.services.elasticbeanstalk.model.DescribeApplicationVersionsRequest;
-import com.amazonaws.services.elasticbeanstalk.model.DescribeApplicationVersionsResult;
 import com.jcabi.aspects.Loggable;
 import com.jcabi.log.Logger;
 import javax.validation.constraints.NotNull;
@@ -39,6 +37,16 @@ final class OverridingVersion implements Version {
      */
     private final transient Bundle bundle;
 
+    /**
+     * Timings of deployment phases.
+     */
+    private final transient Timings timings;
+
+    /**
+     * Index of versions of the application.
+     */
+    private final transient Versions versions;
+
     /**
      * Public ctor.
      * @param clnt Client
@@ -47,9 +55,39 @@ final class OverridingVersion implements Version {
      */
     OverridingVersion(@NotNull final AWSElasticBeanstalk clnt,
         @NotNull final String app, @NotNull final Bundle bndl) {
+        this(clnt, app, bndl, new Timings());
+    }
+
+    /**
+     * Public ctor.
+     * @param clnt Client
+     * @param app Application name
+     * @param bndl Bundle
+     * @param tmgs Timings of deployment phases
+     */
+    OverridingVersion(@NotNull final AWSElasticBeanstalk clnt,
+        @NotNull final String app, @NotNull final Bundle bndl,
+        @NotNull final Timings tmgs) {
+        this(clnt, app, bndl, tmgs, new Versions(clnt, app));
+    }
+
+    /**
+     * Public ctor.
+     * @param clnt Client
+     * @param app Application name
+     * @param bndl Bundle
+     * @param tmgs Timings of deployment phases
+     * @param vrsns Index of versions of the application
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    OverridingVersion(@NotNull final AWSElasticBeanstalk clnt,
+        @NotNull final String app, @NotNull final Bundle bndl,
+        @NotNull final Timings tmgs, @NotNull final Versions vrsns) {
         this.client = clnt;
         this.application = app;
         this.bundle = bndl;
+        this.timings = tmgs;
+        this.versions = vrsns;
     }
 
     @Override
@@ -67,16 +105,19 @@ final class OverridingVersion implements Version {
                 this.application
             );
         } else {
-            final CreateApplicationVersionResult res =
-                this.client.createApplicationVersion(
-                    new CreateApplicationVersionRequest()
-                        .withApplicationName(this.application)
-                        .withVersionLabel(this.bundle.name())
-                        .withSourceBundle(this.bundle.location())
-                        .withDescription(this.bundle.etag())
-                );
+            final CreateApplicationVersionRequest request =
+                new CreateApplicationVersionRequest()
+                    .withApplicationName(this.application)
+                    .withVersionLabel(this.bundle.name())
+                    .withSourceBundle(this.bundle.location())
+                    .withDescription(this.bundle.etag());
+            final CreateApplicationVersionResult res = this.timings.phase(
+                "version",
+                () -> this.client.createApplicationVersion(request)
+            );
             final ApplicationVersionDescription desc =
                 res.getApplicationVersion();
+            this.versions.add(desc);
             Logger.info(
                 this,
                 "Version '%s' created for '%s' (%s): '%s'",
@@ -99,46 +140,39 @@ final class OverridingVersion implements Version {
     }
 
     private boolean exists() {
-        final DescribeApplicationVersionsResult res =
-            this.client.describeApplicationVersions(
-                new DescribeApplicationVersionsRequest()
-                    .withApplicationName(this.application)
-                    .withVersionLabels(this.bundle.name())
-            );
+        final ApplicationVersionDescription ver =
+            this.versions.byLabel(this.bundle.name());
         boolean exists = false;
-        if (res.getApplicationVersions().isEmpty()) {
+        if (ver == null) {
             Logger.info(
                 this,
                 "Version '%s' is absent in '%s'",
                 this.bundle.name(),
                 this.application
             );
+        } else if (ver.getDescription().equals(this.bundle.etag())
+            && ver.getSourceBundle().equals(this.bundle.location())) {
+            Logger.info(
+                this,
+                "Version '%s' already exists for '%s', etag='%s'",
+                ver.getVersionLabel(),
+                ver.getApplicationName(),
+                ver.getDescription()
+            );
+            exists = true;
         } else {
-            final ApplicationVersionDescription ver =
-                res.getApplicationVersions().get(0);
-            if (ver.getSourceBundle().equals(this.bundle.location())
-                && ver.getDescription().equals(this.bundle.etag())) {
-                Logger.info(
-                    this,
-                    "Version '%s' already exists for '%s', etag='%s'",
-                    ver.getVersionLabel(),
-                    ver.getApplicationName(),
-                    ver.getDescription()
-                );
-                exists = true;
-            } else {
-                this.client.deleteApplicationVersion(
-                    new DeleteApplicationVersionRequest()
-                        .withApplicationName(this.application)
-                        .withVersionLabel(this.bundle.name())
-                );
-                Logger.info(
-                    this,
-                    "Version '%s' deleted in '%s' because of its outdated S3 location",
-                    this.bundle.name(),
-                    this.application
-                );
-            }
+            this.client.deleteApplicationVersion(
+                new DeleteApplicationVersionRequest()
+                    .withApplicationName(this.application)
+                    .withVersionLabel(this.bundle.name())
+            );
+            this.versions.remove(this.bundle.name());
+            Logger.info(
+                this,
+                "Version '%s' deleted in '%s' because of its outdated S3 location",
+                this.bundle.name(),
+                this.application
+            );
         }
         return exists;
     }
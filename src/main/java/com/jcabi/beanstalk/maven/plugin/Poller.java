@@ -0,0 +1,250 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * The way environments are waited for, on one shared timer thread.
+ * @since 1.0
+ */
+@ToString(of = { "backoff", "events" })
+@EqualsAndHashCode(of = { "backoff", "events" })
+final class Poller implements Closeable {
+
+    /**
+     * Polling strategy.
+     */
+    private final transient Backoff backoff;
+
+    /**
+     * Follow EBT events instead of describing environments every time?
+     */
+    private final transient boolean events;
+
+    /**
+     * The moment we stop waiting, no matter what.
+     */
+    private final transient Deadline deadline;
+
+    /**
+     * Timings of waits.
+     */
+    private final transient Timings timings;
+
+    /**
+     * The timer all waits run on.
+     */
+    private final transient ScheduledExecutorService timer;
+
+    /**
+     * Public ctor.
+     * @param bkf Polling strategy
+     * @param evts Follow EBT events?
+     * @param ddl The moment we stop waiting
+     * @param tmgs Timings of waits
+     */
+    Poller(@NotNull final Backoff bkf, final boolean evts,
+        @NotNull final Deadline ddl, @NotNull final Timings tmgs) {
+        this(
+            bkf, evts, ddl, tmgs,
+            Executors.newSingleThreadScheduledExecutor(
+                runnable -> {
+                    final Thread thread = new Thread(
+                        runnable, "beanstalk-poller"
+                    );
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            )
+        );
+    }
+
+    /**
+     * Private ctor.
+     * @param bkf Polling strategy
+     * @param evts Follow EBT events?
+     * @param ddl The moment we stop waiting
+     * @param tmgs Timings of waits
+     * @param tmr The timer
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private Poller(final Backoff bkf, final boolean evts, final Deadline ddl,
+        final Timings tmgs, final ScheduledExecutorService tmr) {
+        this.backoff = bkf;
+        this.events = evts;
+        this.deadline = ddl;
+        this.timings = tmgs;
+        this.timer = tmr;
+    }
+
+    @Override
+    public void close() {
+        this.timer.shutdownNow();
+    }
+
+    /**
+     * The same poller, on the same timer, which records waits into
+     * other timings (it is closed together with this one).
+     * @param tmgs Timings of waits
+     * @return Poller
+     */
+    Poller with(@NotNull final Timings tmgs) {
+        return new Poller(
+            this.backoff, this.events, this.deadline, tmgs, this.timer
+        );
+    }
+
+    /**
+     * Start watching an environment.
+     * @param client The client
+     * @param eid Environment ID
+     * @return The watch, to be used by one waiting loop only
+     */
+    Watch watch(final AWSElasticBeanstalk client, final String eid) {
+        final Watch watch;
+        if (this.events) {
+            watch = new Watch.Events(client, eid, this.backoff);
+        } else {
+            watch = new Watch.Describe(this.backoff);
+        }
+        return watch;
+    }
+
+    /**
+     * Schedule a wait, which checks at the pace of the backoff.
+     * @param label What we are waiting for, as a phase of deployment
+     * @param probe The check, which is TRUE when the wait is over
+     * @return The future, which completes with TRUE if the check passed
+     *  or with FALSE if the deadline passed before
+     */
+    CompletableFuture<Boolean> submit(@NotNull final String label,
+        @NotNull final BooleanSupplier probe) {
+        return this.submit(label, new Watch.Describe(this.backoff), probe);
+    }
+
+    /**
+     * Schedule a wait.
+     * @param label What we are waiting for, as a phase of deployment
+     * @param watch The watch, which decides how long to sleep between checks
+     * @param probe The check, which is TRUE when the wait is over
+     * @return The future, which completes with TRUE if the check passed
+     *  or with FALSE if the deadline passed before
+     */
+    CompletableFuture<Boolean> submit(@NotNull final String label,
+        @NotNull final Watch watch, @NotNull final BooleanSupplier probe) {
+        final Poller.Task task = new Poller.Task(watch, probe);
+        final long start = System.currentTimeMillis();
+        this.timer.execute(task);
+        return task.future.whenComplete(
+            (passed, error) -> this.timings.record(label, start)
+        );
+    }
+
+    /**
+     * Is it too late to wait for anything?
+     * @return TRUE if the deadline is passed
+     */
+    boolean expired() {
+        return this.deadline.expired();
+    }
+
+    /**
+     * Block until the wait is over.
+     * @param future The wait
+     * @return TRUE if its condition holds
+     */
+    boolean join(@NotNull final CompletableFuture<Boolean> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new DeploymentException(ex);
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new DeploymentException(ex.getCause());
+        }
+    }
+
+    /**
+     * One wait, which reschedules itself on the timer until it is over.
+     * @since 1.0
+     */
+    private final class Task implements Runnable {
+
+        /**
+         * The result.
+         */
+        private final transient CompletableFuture<Boolean> future;
+
+        /**
+         * The watch.
+         */
+        private final transient Watch watch;
+
+        /**
+         * The check.
+         */
+        private final transient BooleanSupplier probe;
+
+        /**
+         * How many checks were made already.
+         */
+        private final transient AtomicInteger attempt;
+
+        /**
+         * Public ctor.
+         * @param wtch The watch
+         * @param prb The check
+         */
+        Task(final Watch wtch, final BooleanSupplier prb) {
+            this.future = new CompletableFuture<>();
+            this.watch = wtch;
+            this.probe = prb;
+            this.attempt = new AtomicInteger();
+        }
+
+        @Override
+        public void run() {
+            if (!this.future.isDone()) {
+                try {
+                    if (Poller.this.deadline.expired()) {
+                        this.future.complete(false);
+                    } else if (this.probe.getAsBoolean()) {
+                        this.future.complete(true);
+                    } else {
+                        Poller.this.timer.schedule(
+                            this,
+                            Math.min(
+                                this.watch.delay(
+                                    this.attempt.incrementAndGet()
+                                ),
+                                Poller.this.deadline.left()
+                            ),
+                            TimeUnit.MILLISECONDS
+                        );
+                    }
+                // @checkstyle IllegalCatchCheck (1 line)
+                } catch (final RuntimeException ex) {
+                    this.future.completeExceptionally(ex);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
+import com.amazonaws.services.elasticbeanstalk.model.ApplicationVersionDescription;
+import com.amazonaws.services.elasticbeanstalk.model.DeleteApplicationVersionRequest;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeApplicationVersionsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEnvironmentsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.EnvironmentDescription;
+import com.amazonaws.services.elasticbeanstalk.model.S3Location;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.jcabi.log.Logger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Retention of application versions and their bundles, which are
+ * deleted unless a version of any application still uses them.
+ * @since 1.0
+ */
+@ToString(of = { "application", "keep" })
+@EqualsAndHashCode(of = { "client", "application", "keep" })
+final class Retention {
+
+    /**
+     * Maximum number of keys S3 deletes in one request.
+     */
+    private static final int BATCH = 1000;
+
+    /**
+     * AWS beanstalk client.
+     */
+    private final transient AWSElasticBeanstalk client;
+
+    /**
+     * Amazon S3 client.
+     */
+    private final transient AmazonS3 storage;
+
+    /**
+     * Application name.
+     */
+    private final transient String application;
+
+    /**
+     * Index of versions of the application.
+     */
+    private final transient Versions versions;
+
+    /**
+     * How many newest versions to keep.
+     */
+    private final transient int keep;
+
+    /**
+     * How many versions to delete at the same time.
+     */
+    private final transient int threads;
+
+    /**
+     * Public ctor, with four workers.
+     * @param clnt Beanstalk client
+     * @param sthree S3 client
+     * @param app Application name
+     * @param vrsns Index of versions of the application
+     * @param count How many newest versions to keep
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    Retention(@NotNull final AWSElasticBeanstalk clnt,
+        @NotNull final AmazonS3 sthree, @NotNull final String app,
+        @NotNull final Versions vrsns, final int count) {
+        this(clnt, sthree, app, vrsns, count, 4);
+    }
+
+    /**
+     * Public ctor.
+     * @param clnt Beanstalk client
+     * @param sthree S3 client
+     * @param app Application name
+     * @param vrsns Index of versions of the application
+     * @param count How many newest versions to keep
+     * @param workers How many versions to delete at the same time
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    Retention(@NotNull final AWSElasticBeanstalk clnt,
+        @NotNull final AmazonS3 sthree, @NotNull final String app,
+        @NotNull final Versions vrsns, final int count, final int workers) {
+        this.client = clnt;
+        this.storage = sthree;
+        this.application = app;
+        this.versions = vrsns;
+        this.keep = count;
+        this.threads = workers;
+    }
+
+    /**
+     * Delete old versions and their bundles.
+     * @return Labels of the versions deleted
+     */
+    Collection<String> clean() {
+        final List<ApplicationVersionDescription> all =
+            new ArrayList<>(this.versions.all());
+        all.sort(
+            Comparator.comparing(
+                ApplicationVersionDescription::getDateCreated,
+                Comparator.nullsFirst(Comparator.naturalOrder())
+            ).reversed()
+        );
+        final Set<String> live = this.live();
+        final Set<S3Location> used = this.shared();
+        final List<ApplicationVersionDescription> old = new ArrayList<>(0);
+        for (int idx = 0; idx < all.size(); ++idx) {
+            final ApplicationVersionDescription ver = all.get(idx);
+            if (idx < this.keep || live.contains(ver.getVersionLabel())) {
+                used.add(ver.getSourceBundle());
+            } else {
+                old.add(ver);
+            }
+        }
+        final List<ApplicationVersionDescription> done = this.delete(old);
+        final Collection<String> deleted = new ArrayList<>(old.size());
+        for (int idx = 0; idx < old.size(); ++idx) {
+            if (done.get(idx) == null) {
+                used.add(old.get(idx).getSourceBundle());
+            } else {
+                deleted.add(done.get(idx).getVersionLabel());
+            }
+        }
+        final Map<String, Set<String>> bundles = new TreeMap<>();
+        for (final ApplicationVersionDescription ver : done) {
+            if (ver != null && ver.getSourceBundle() != null
+                && !used.contains(ver.getSourceBundle())) {
+                bundles.computeIfAbsent(
+                    ver.getSourceBundle().getS3Bucket(),
+                    bkt -> new HashSet<>(0)
+                ).add(ver.getSourceBundle().getS3Key());
+            }
+        }
+        int purged = 0;
+        for (final Map.Entry<String, Set<String>> bucket
+            : bundles.entrySet()) {
+            purged += this.purge(bucket.getKey(), bucket.getValue());
+        }
+        Logger.info(
+            this,
+            "Retention of '%s': %d version(s) kept, %d deleted, %d failed, %d bundle(s) deleted from S3",
+            this.application, all.size() - old.size(), deleted.size(),
+            old.size() - deleted.size(), purged
+        );
+        return deleted;
+    }
+
+    private Set<String> live() {
+        final Set<String> labels = new HashSet<>(0);
+        for (final EnvironmentDescription env
+            : this.client.describeEnvironments(
+                new DescribeEnvironmentsRequest()
+                    .withApplicationName(this.application)
+                    .withIncludeDeleted(false)
+            ).getEnvironments()) {
+            if (!"Terminated".equals(env.getStatus())) {
+                labels.add(env.getVersionLabel());
+            }
+        }
+        return labels;
+    }
+
+    private Set<S3Location> shared() {
+        final Set<S3Location> bundles = new HashSet<>(0);
+        for (final ApplicationVersionDescription ver
+            : this.client.describeApplicationVersions(
+                new DescribeApplicationVersionsRequest()
+            ).getApplicationVersions()) {
+            if (!this.application.equals(ver.getApplicationName())) {
+                bundles.add(ver.getSourceBundle());
+            }
+        }
+        return bundles;
+    }
+
+    private List<ApplicationVersionDescription> delete(
+        final List<ApplicationVersionDescription> old) {
+        final List<ApplicationVersionDescription> done =
+            new ArrayList<>(old.size());
+        if (!old.isEmpty()) {
+            final ExecutorService pool = Executors.newFixedThreadPool(
+                Math.min(this.threads, old.size())
+            );
+            try {
+                final List<CompletableFuture<ApplicationVersionDescription>>
+                    futures = new ArrayList<>(old.size());
+                for (final ApplicationVersionDescription ver : old) {
+                    futures.add(
+                        CompletableFuture.supplyAsync(
+                            () -> this.delete(ver), pool
+                        )
+                    );
+                }
+                for (final CompletableFuture<ApplicationVersionDescription>
+                    future : futures) {
+                    done.add(future.join());
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        return done;
+    }
+
+    private ApplicationVersionDescription delete(
+        final ApplicationVersionDescription ver) {
+        ApplicationVersionDescription deleted;
+        try {
+            this.client.deleteApplicationVersion(
+                new DeleteApplicationVersionRequest()
+                    .withApplicationName(this.application)
+                    .withVersionLabel(ver.getVersionLabel())
+            );
+            this.versions.remove(ver.getVersionLabel());
+            Logger.info(
+                this, "Version '%s' of '%s' deleted",
+                ver.getVersionLabel(), this.application
+            );
+            deleted = ver;
+        } catch (final AmazonClientException ex) {
+            Logger.warn(
+                this, "Failed to delete version '%s' of '%s': %s",
+                ver.getVersionLabel(), this.application, ex.getMessage()
+            );
+            deleted = null;
+        }
+        return deleted;
+    }
+
+    private int purge(final String bucket, final Set<String> keys) {
+        final List<String> all = new ArrayList<>(keys.size() << 1);
+        for (final String key : keys) {
+            all.add(key);
+            all.add(key + Multipart.MANIFEST);
+        }
+        int errors = 0;
+        for (int start = 0; start < all.size(); start += Retention.BATCH) {
+            final List<String> batch = all.subList(
+                start, Math.min(all.size(), start + Retention.BATCH)
+            );
+            try {
+                this.storage.deleteObjects(
+                    new DeleteObjectsRequest(bucket)
+                        .withQuiet(true)
+                        .withKeys(batch.toArray(new String[batch.size()]))
+                );
+            } catch (final MultiObjectDeleteException ex) {
+                for (final MultiObjectDeleteException.DeleteError error
+                    : ex.getErrors()) {
+                    Logger.warn(
+                        this, "Failed to delete s3://%s/%s: %s",
+                        bucket, error.getKey(), error.getMessage()
+                    );
+                    if (keys.contains(error.getKey())) {
+                        ++errors;
+                    }
+                }
+            }
+        }
+        return keys.size() - errors;
+    }
+}
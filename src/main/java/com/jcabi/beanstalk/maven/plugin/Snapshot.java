@@ -0,0 +1,207 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEnvironmentsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEnvironmentsResult;
+import com.amazonaws.services.elasticbeanstalk.model.EnvironmentDescription;
+import com.jcabi.aspects.Loggable;
+import com.jcabi.log.Logger;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Short-lived snapshot of EBT environment descriptions, shared by
+ * environments of the same application.
+ * @since 1.0
+ */
+@Loggable(Loggable.DEBUG)
+final class Snapshot {
+
+    /**
+     * For how long a description stays fresh, in milliseconds.
+     */
+    private static final long LIFETIME_MS = TimeUnit.SECONDS.toMillis(3L);
+
+    /**
+     * AWS beanstalk client.
+     */
+    private final transient AWSElasticBeanstalk client;
+
+    /**
+     * IDs of all environments this snapshot is responsible for.
+     */
+    private final transient Set<String> ids;
+
+    /**
+     * The latest descriptions seen, by environment IDs.
+     */
+    private final transient ConcurrentMap<String, Snapshot.Entry> entries;
+
+    /**
+     * Public ctor.
+     * @param clnt The client
+     */
+    Snapshot(@NotNull final AWSElasticBeanstalk clnt) {
+        this(clnt, Collections.<EnvironmentDescription>emptyList());
+    }
+
+    /**
+     * Public ctor.
+     * @param clnt The client
+     * @param descs Descriptions already known
+     */
+    Snapshot(@NotNull final AWSElasticBeanstalk clnt,
+        @NotNull final Collection<EnvironmentDescription> descs) {
+        this.client = clnt;
+        this.ids = new ConcurrentSkipListSet<>();
+        this.entries = new ConcurrentHashMap<>(0);
+        this.save(descs);
+    }
+
+    /**
+     * Get the description, from memory if it is still fresh.
+     * @param eid Environment ID
+     * @return Description of the environment
+     */
+    EnvironmentDescription get(@NotNull final String eid) {
+        final Snapshot.Entry current = this.entries.get(eid);
+        final EnvironmentDescription desc;
+        if (current == null || current.stale()) {
+            desc = this.refresh(eid);
+        } else {
+            desc = current.description();
+        }
+        return desc;
+    }
+
+    /**
+     * Get the description, if it was fetched at or after the given
+     * moment (probably by a refresh of another environment sharing this
+     * snapshot), or fetch it from EBT otherwise.
+     * @param eid Environment ID
+     * @param moment The moment, in milliseconds
+     * @return Description of the environment
+     */
+    EnvironmentDescription since(@NotNull final String eid,
+        final long moment) {
+        final Snapshot.Entry current = this.entries.get(eid);
+        final EnvironmentDescription desc;
+        if (current == null || current.older(moment)) {
+            desc = this.refresh(eid);
+        } else {
+            desc = current.description();
+        }
+        return desc;
+    }
+
+    /**
+     * Fetch the description from EBT, no matter how fresh it is,
+     * together with all other environments of this snapshot.
+     * @param eid Environment ID
+     * @return Description of the environment
+     */
+    EnvironmentDescription refresh(@NotNull final String eid) {
+        this.ids.add(eid);
+        final DescribeEnvironmentsResult res = this.client.describeEnvironments(
+            new DescribeEnvironmentsRequest()
+                .withEnvironmentIds(this.ids)
+        );
+        this.entries.clear();
+        this.save(res.getEnvironments());
+        final Snapshot.Entry entry = this.entries.get(eid);
+        if (entry == null) {
+            throw new DeploymentException(
+                String.format("environment '%s' not found", eid)
+            );
+        }
+        return entry.description();
+    }
+
+    /**
+     * Forget the description, since the environment was changed.
+     * @param eid Environment ID
+     */
+    void invalidate(@NotNull final String eid) {
+        this.entries.remove(eid);
+    }
+
+    private void save(final Collection<EnvironmentDescription> descs) {
+        for (final EnvironmentDescription desc : descs) {
+            Logger.debug(
+                this,
+                "ID=%s, env=%s, app=%s, CNAME=%s, label=%s, template=%s, status=%s, health=%s",
+                desc.getEnvironmentId(), desc.getEnvironmentName(),
+                desc.getApplicationName(), desc.getCNAME(),
+                desc.getVersionLabel(), desc.getTemplateName(),
+                desc.getStatus(), desc.getHealth()
+            );
+            this.ids.add(desc.getEnvironmentId());
+            this.entries.put(
+                desc.getEnvironmentId(), new Snapshot.Entry(desc)
+            );
+        }
+    }
+
+    /**
+     * Description with the time it was fetched at.
+     * @since 1.0
+     */
+    private static final class Entry {
+
+        /**
+         * The description.
+         */
+        private final transient EnvironmentDescription desc;
+
+        /**
+         * When it was fetched, in milliseconds.
+         */
+        private final transient long time;
+
+        /**
+         * Public ctor.
+         * @param description The description
+         */
+        Entry(final EnvironmentDescription description) {
+            this.desc = description;
+            this.time = System.currentTimeMillis();
+        }
+
+        /**
+         * Get the description.
+         * @return The description
+         */
+        EnvironmentDescription description() {
+            return this.desc;
+        }
+
+        /**
+         * It is too old to be trusted?
+         * @return TRUE if stale
+         */
+        boolean stale() {
+            return this.older(
+                System.currentTimeMillis() - Snapshot.LIFETIME_MS
+            );
+        }
+
+        /**
+         * It was fetched before the given moment?
+         * @param moment The moment, in milliseconds
+         * @return TRUE if older
+         */
+        boolean older(final long moment) {
+            return this.time < moment;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.jcabi.aspects.Loggable;
+import com.jcabi.log.Logger;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+
+/**
+ * Stage WAR artifact in AWS Elastic Beanstalk as a version of the
+ * application, without touching its environments.
+ * @since 1.0
+ */
+@Mojo(name = "stage", defaultPhase = LifecyclePhase.PACKAGE)
+@Loggable(Loggable.INFO)
+public final class StageMojo extends AbstractBeanstalkMojo {
+
+    @Override
+    public void exec(final Application app, final Version version,
+        final String template) {
+        Logger.info(
+            this, "Version '%s' is staged in %s, ready to be deployed",
+            version.label(), app
+        );
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import lombok.EqualsAndHashCode;
+
+/**
+ * Target of deployment: application, its region, template and the
+ * S3 bucket for its bundle.
+ * @since 1.0
+ */
+@EqualsAndHashCode(of = { "name", "region", "template", "bucket" })
+public final class Target {
+
+    /**
+     * Application name.
+     */
+    private transient String name;
+
+    /**
+     * AWS region, like {@code eu-west-1}, empty for the default one.
+     */
+    private transient String region;
+
+    /**
+     * Template name.
+     */
+    private transient String template;
+
+    /**
+     * S3 bucket, in the same region.
+     */
+    private transient String bucket;
+
+    /**
+     * Public ctor, for Maven.
+     */
+    public Target() {
+        this("", "", "", "");
+    }
+
+    /**
+     * Public ctor.
+     * @param app Application name
+     * @param rgn AWS region, empty for the default one
+     * @param tmpl Template name
+     * @param bckt S3 bucket
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    Target(final String app, final String rgn, final String tmpl,
+        final String bckt) {
+        this.name = app;
+        this.region = rgn;
+        this.template = tmpl;
+        this.bucket = bckt;
+    }
+
+    @Override
+    public String toString() {
+        final String txt;
+        if (Target.empty(this.region)) {
+            txt = this.name;
+        } else {
+            txt = String.format("%s@%s", this.name, this.region);
+        }
+        return txt;
+    }
+
+    /**
+     * The same target, where missing elements are the given ones,
+     * except the bucket of a target with a region.
+     * @param app Application name
+     * @param tmpl Template name
+     * @param bckt S3 bucket
+     * @return Target
+     */
+    Target with(final String app, final String tmpl, final String bckt) {
+        final Target full = new Target(
+            Target.or(this.name, app), Target.or(this.region, ""),
+            Target.or(this.template, tmpl), Target.or(this.bucket, bckt)
+        );
+        if (Target.empty(full.name)) {
+            throw new DeploymentException(
+                "application name is configured neither for the target nor for the plugin"
+            );
+        }
+        if (!full.region.isEmpty() && Target.empty(this.bucket)) {
+            throw new DeploymentException(
+                String.format(
+                    "target %s needs its own bucket, in its region", full
+                )
+            );
+        }
+        if (Target.empty(full.bucket)) {
+            throw new DeploymentException(
+                String.format(
+                    "bucket is configured neither for %s nor for the plugin",
+                    full
+                )
+            );
+        }
+        return full;
+    }
+
+    /**
+     * Application name.
+     * @return Name
+     */
+    String name() {
+        return this.name;
+    }
+
+    /**
+     * AWS region.
+     * @return Region, empty for the default one
+     */
+    String region() {
+        return this.region;
+    }
+
+    /**
+     * Template name.
+     * @return Name
+     */
+    String template() {
+        return this.template;
+    }
+
+    /**
+     * S3 bucket.
+     * @return Bucket name
+     */
+    String bucket() {
+        return this.bucket;
+    }
+
+    private static String or(final String value, final String def) {
+        final String txt;
+        if (Target.empty(value)) {
+            txt = def;
+        } else {
+            txt = value;
+        }
+        return txt;
+    }
+
+    private static boolean empty(final String value) {
+        return value == null || value.isEmpty();
+    }
+}
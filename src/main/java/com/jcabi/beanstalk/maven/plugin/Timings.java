@@ -0,0 +1,340 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.jcabi.log.Logger;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.validation.constraints.NotNull;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Timings of deployment phases and of API calls.
+ * @since 1.0
+ */
+final class Timings {
+
+    /**
+     * When the deployment started, in milliseconds.
+     */
+    private final transient long start;
+
+    /**
+     * Phases, in the order they finished.
+     */
+    private final transient Queue<Timings.Phase> phases;
+
+    /**
+     * Counters of API calls, by name: number of calls, total time,
+     * the longest call.
+     */
+    private final transient ConcurrentMap<String, AtomicLong[]> calls;
+
+    /**
+     * The target of deployment, empty if there is just one.
+     */
+    private final transient String label;
+
+    /**
+     * Public ctor.
+     */
+    Timings() {
+        this(
+            System.currentTimeMillis(), new ConcurrentLinkedQueue<>(),
+            new ConcurrentHashMap<>(0), ""
+        );
+    }
+
+    /**
+     * Private ctor.
+     * @param begin When the deployment started
+     * @param phss Phases
+     * @param cls Counters of API calls
+     * @param lbl The target of deployment
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private Timings(final long begin, final Queue<Timings.Phase> phss,
+        final ConcurrentMap<String, AtomicLong[]> cls, final String lbl) {
+        this.start = begin;
+        this.phases = phss;
+        this.calls = cls;
+        this.label = lbl;
+    }
+
+    /**
+     * Timings of one target of deployment, in the same report.
+     * @param target The target
+     * @return Timings, which label everything with the target
+     */
+    Timings target(@NotNull final String target) {
+        return new Timings(this.start, this.phases, this.calls, target);
+    }
+
+    /**
+     * Run a phase and record how long it took.
+     * @param name Name of the phase
+     * @param body The phase
+     * @param <T> Type of the result
+     * @return What the phase returned
+     */
+    <T> T phase(@NotNull final String name,
+        @NotNull final Supplier<T> body) {
+        final long begin = System.currentTimeMillis();
+        try {
+            return body.get();
+        } finally {
+            this.record(name, begin);
+        }
+    }
+
+    /**
+     * Run a phase, which returns nothing, and record how long it took.
+     * @param name Name of the phase
+     * @param body The phase
+     */
+    void phase(@NotNull final String name, @NotNull final Runnable body) {
+        this.phase(
+            name,
+            () -> {
+                body.run();
+                return true;
+            }
+        );
+    }
+
+    /**
+     * Record a phase, which started at the given moment and is over now.
+     * @param name Name of the phase
+     * @param begin When it started, in milliseconds
+     */
+    void record(@NotNull final String name, final long begin) {
+        this.phases.add(
+            new Timings.Phase(
+                this.label, name, begin - this.start,
+                System.currentTimeMillis() - begin
+            )
+        );
+    }
+
+    /**
+     * Make an object, all calls to which are timed.
+     * @param type The interface
+     * @param origin The object
+     * @param <T> Type of it
+     * @return The object, which records its calls
+     */
+    <T> T calls(@NotNull final Class<T> type, @NotNull final T origin) {
+        return new Interceptor<>(
+            type, origin,
+            (method, call) -> {
+                final long begin = System.currentTimeMillis();
+                try {
+                    return call.make();
+                } finally {
+                    this.call(
+                        String.format(
+                            "%s.%s", type.getSimpleName(), method.getName()
+                        ),
+                        System.currentTimeMillis() - begin
+                    );
+                }
+            }
+        ).proxy();
+    }
+
+    /**
+     * One line summary for the log.
+     * @return Summary
+     */
+    String summary() {
+        final StringBuilder text = new StringBuilder(0);
+        for (final Map.Entry<String, Long> total : this.totals().entrySet()) {
+            if (text.length() > 0) {
+                text.append(", ");
+            }
+            text.append(total.getKey()).append(": ").append(
+                Logger.format("%[ms]s", total.getValue())
+            );
+        }
+        long count = 0L;
+        for (final AtomicLong[] counters : this.calls.values()) {
+            count += counters[0].get();
+        }
+        return Logger.format(
+            "Deployment took %[ms]s (%s), %d API calls",
+            System.currentTimeMillis() - this.start, text, count
+        );
+    }
+
+    /**
+     * Save the report as JSON.
+     * @param file Where to save it
+     * @throws IOException If fails
+     */
+    void save(@NotNull final File file) throws IOException {
+        final Map<String, Object> json = new LinkedHashMap<>(0);
+        json.put("started", this.start);
+        json.put("duration", System.currentTimeMillis() - this.start);
+        final Collection<Map<String, Object>> list = new ArrayList<>(0);
+        for (final Timings.Phase phase : this.phases) {
+            list.add(phase.json());
+        }
+        json.put("phases", list);
+        json.put("totals", this.totals());
+        final Map<String, Object> apis = new LinkedHashMap<>(0);
+        for (final Map.Entry<String, AtomicLong[]> call
+            : this.calls.entrySet()) {
+            final Map<String, Object> counters = new LinkedHashMap<>(0);
+            counters.put("count", call.getValue()[0].get());
+            counters.put("total", call.getValue()[1].get());
+            counters.put("max", call.getValue()[2].get());
+            apis.put(call.getKey(), counters);
+        }
+        json.put("calls", apis);
+        final StringBuilder text = new StringBuilder(0);
+        Timings.json(text, json);
+        FileUtils.write(file, text.toString(), StandardCharsets.UTF_8);
+    }
+
+    private Map<String, Long> totals() {
+        final Map<String, Long> totals = new LinkedHashMap<>(0);
+        for (final Timings.Phase phase : this.phases) {
+            totals.merge(
+                Timings.labeled(phase.target, phase.name),
+                phase.duration, Long::sum
+            );
+        }
+        return totals;
+    }
+
+    private void call(final String name, final long msec) {
+        final AtomicLong[] counters = this.calls.computeIfAbsent(
+            Timings.labeled(this.label, name),
+            key -> new AtomicLong[] {
+                new AtomicLong(), new AtomicLong(), new AtomicLong(),
+            }
+        );
+        counters[0].incrementAndGet();
+        counters[1].addAndGet(msec);
+        counters[2].accumulateAndGet(msec, Math::max);
+    }
+
+    private static String labeled(final String target, final String name) {
+        final String text;
+        if (target.isEmpty()) {
+            text = name;
+        } else {
+            text = String.format("%s %s", target, name);
+        }
+        return text;
+    }
+
+    private static void json(final StringBuilder text, final Object value) {
+        if (value instanceof Map) {
+            text.append('{');
+            String sep = "";
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                text.append(sep);
+                Timings.json(text, entry.getKey().toString());
+                text.append(':');
+                Timings.json(text, entry.getValue());
+                sep = ",";
+            }
+            text.append('}');
+        } else if (value instanceof Collection) {
+            text.append('[');
+            String sep = "";
+            for (final Object item : (Collection<?>) value) {
+                text.append(sep);
+                Timings.json(text, item);
+                sep = ",";
+            }
+            text.append(']');
+        } else if (value instanceof Number) {
+            text.append(value);
+        } else {
+            text.append('"');
+            for (final char chr : String.valueOf(value).toCharArray()) {
+                if (chr == '"' || chr == '\\') {
+                    text.append('\\').append(chr);
+                } else if (chr < ' ') {
+                    text.append(String.format("\\u%04x", (int) chr));
+                } else {
+                    text.append(chr);
+                }
+            }
+            text.append('"');
+        }
+    }
+
+    /**
+     * Phase of deployment.
+     * @since 1.0
+     */
+    private static final class Phase {
+
+        /**
+         * The target of deployment, empty if there is just one.
+         */
+        private final transient String target;
+
+        /**
+         * Name of it.
+         */
+        private final transient String name;
+
+        /**
+         * When it started, since the start of deployment, in milliseconds.
+         */
+        private final transient long offset;
+
+        /**
+         * How long it took, in milliseconds.
+         */
+        private final transient long duration;
+
+        /**
+         * Public ctor.
+         * @param trgt The target of deployment
+         * @param title Name of it
+         * @param begin When it started, since the start of deployment
+         * @param msec How long it took
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Phase(final String trgt, final String title, final long begin,
+            final long msec) {
+            this.target = trgt;
+            this.name = title;
+            this.offset = begin;
+            this.duration = msec;
+        }
+
+        /**
+         * JSON representation.
+         * @return Map to be rendered as JSON
+         */
+        Map<String, Object> json() {
+            final Map<String, Object> json = new LinkedHashMap<>(0);
+            if (!this.target.isEmpty()) {
+                json.put("target", this.target);
+            }
+            json.put("name", this.name);
+            json.put("start", this.offset);
+            json.put("duration", this.duration);
+            return json;
+        }
+    }
+}
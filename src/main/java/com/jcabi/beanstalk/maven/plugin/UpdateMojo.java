@@ -6,7 +6,6 @@ package com.jcabi.beanstalk.maven.plugin;
 
 import com.jcabi.aspects.Loggable;
 import com.jcabi.log.Logger;
-import javax.validation.constraints.NotNull;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 
@@ -19,15 +18,16 @@ import org.apache.maven.plugins.annotations.Mojo;
 public final class UpdateMojo extends AbstractBeanstalkMojo {
 
     @Override
-    public void exec(@NotNull final Application app,
-        @NotNull final Version version, @NotNull final String template) {
+    public void exec(final Application app, final Version version,
+        final String template) {
         final Environment primary;
         if (app.hasPrimary()) {
             primary = app.primary();
             primary.update(version);
         } else {
+            final String tmpl = AbstractBeanstalkMojo.template(template);
             app.clean(false);
-            primary = app.candidate(version, template);
+            primary = app.candidate(version, tmpl);
         }
         if (!this.isGreen(primary)) {
             this.postMortem(primary);
@@ -4,6 +4,16 @@
  */
 package com.jcabi.beanstalk.maven.plugin;
 
+import com.jcabi.log.Logger;
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+
 /**
  * Version to deploy.
  * @since 0.3
@@ -16,4 +26,103 @@ interface Version {
      * @return The label
      */
     String label();
+
+    /**
+     * Version made in background, ahead of the moment it's needed,
+     * and cancelled when closed.
+     * @since 1.0
+     */
+    @EqualsAndHashCode(of = "origin")
+    final class Ahead implements Version, Closeable {
+
+        /**
+         * Original version.
+         */
+        private final transient Version origin;
+
+        /**
+         * The label being made, or NULL if not started yet.
+         */
+        private final transient AtomicReference<CompletableFuture<String>>
+            future;
+
+        /**
+         * The thread the label is made in.
+         */
+        private final transient ExecutorService thread;
+
+        /**
+         * Public ctor.
+         * @param version Original version
+         */
+        Ahead(@NotNull final Version version) {
+            this.origin = version;
+            this.future = new AtomicReference<>();
+            this.thread = Executors.newSingleThreadExecutor(
+                runnable -> {
+                    final Thread daemon = new Thread(
+                        runnable, "beanstalk-version"
+                    );
+                    daemon.setDaemon(true);
+                    return daemon;
+                }
+            );
+        }
+
+        @Override
+        public String toString() {
+            return this.origin.toString();
+        }
+
+        /**
+         * Start making the version in background, if not started yet.
+         * @return This version
+         */
+        Version.Ahead start() {
+            final CompletableFuture<String> label = new CompletableFuture<>();
+            if (this.future.compareAndSet(null, label)) {
+                Logger.info(this, "Version '%s' is being made ahead", this);
+                this.thread.execute(
+                    () -> {
+                        try {
+                            label.complete(this.origin.label());
+                        // @checkstyle IllegalCatchCheck (1 line)
+                        } catch (final RuntimeException ex) {
+                            label.completeExceptionally(ex);
+                        }
+                    }
+                );
+                this.thread.shutdown();
+            }
+            return this;
+        }
+
+        @Override
+        public void close() {
+            final CompletableFuture<String> label = this.future.get();
+            if (label != null && label.completeExceptionally(
+                new DeploymentException(
+                    String.format("version '%s' is cancelled", this)
+                )
+            )) {
+                Logger.warn(
+                    this, "Version '%s' is not needed any more, cancelled",
+                    this
+                );
+            }
+            this.thread.shutdownNow();
+        }
+
+        @Override
+        public String label() {
+            try {
+                return this.start().future.get().join();
+            } catch (final CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) ex.getCause();
+                }
+                throw new DeploymentException(ex.getCause());
+            }
+        }
+    }
 }
@@ -0,0 +1,150 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
+import com.amazonaws.services.elasticbeanstalk.model.ApplicationVersionDescription;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeApplicationVersionsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.S3Location;
+import com.jcabi.log.Logger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import javax.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Index of all versions of the application, in memory.
+ * @since 1.0
+ */
+@ToString(of = "application")
+@EqualsAndHashCode(of = { "client", "application" })
+final class Versions {
+
+    /**
+     * AWS beanstalk client.
+     */
+    private final transient AWSElasticBeanstalk client;
+
+    /**
+     * Application name.
+     */
+    private final transient String application;
+
+    /**
+     * Versions, by label.
+     */
+    private final transient ConcurrentMap<String, ApplicationVersionDescription>
+        index;
+
+    /**
+     * Are the versions loaded already?
+     */
+    private final transient AtomicBoolean loaded;
+
+    /**
+     * Public ctor.
+     * @param clnt Client
+     * @param app Application name
+     */
+    Versions(@NotNull final AWSElasticBeanstalk clnt,
+        @NotNull final String app) {
+        this.client = clnt;
+        this.application = app;
+        this.index = new ConcurrentHashMap<>(0);
+        this.loaded = new AtomicBoolean();
+    }
+
+    /**
+     * All versions.
+     * @return Versions
+     */
+    Collection<ApplicationVersionDescription> all() {
+        return this.find(ver -> true);
+    }
+
+    /**
+     * Find the version by label.
+     * @param label The label
+     * @return The version or NULL if absent
+     */
+    ApplicationVersionDescription byLabel(@NotNull final String label) {
+        return this.versions().get(label);
+    }
+
+    /**
+     * Find the versions made of the bundle.
+     * @param location S3 location of the bundle
+     * @return Versions
+     */
+    Collection<ApplicationVersionDescription> byBundle(
+        @NotNull final S3Location location) {
+        return this.find(ver -> location.equals(ver.getSourceBundle()));
+    }
+
+    /**
+     * Find the versions made of the bundle with this digest.
+     * @param etag MD5 of the bundle
+     * @return Versions
+     */
+    Collection<ApplicationVersionDescription> byDigest(
+        @NotNull final String etag) {
+        return this.find(ver -> etag.equals(ver.getDescription()));
+    }
+
+    /**
+     * Add the version, which was just created.
+     * @param version The version
+     */
+    void add(@NotNull final ApplicationVersionDescription version) {
+        this.versions().put(version.getVersionLabel(), version);
+    }
+
+    /**
+     * Remove the version, which was just deleted.
+     * @param label Its label
+     */
+    void remove(@NotNull final String label) {
+        this.versions().remove(label);
+    }
+
+    private Collection<ApplicationVersionDescription> find(
+        final Predicate<ApplicationVersionDescription> filter) {
+        final Collection<ApplicationVersionDescription> found =
+            new ArrayList<>(0);
+        for (final ApplicationVersionDescription ver
+            : this.versions().values()) {
+            if (filter.test(ver)) {
+                found.add(ver);
+            }
+        }
+        return found;
+    }
+
+    private Map<String, ApplicationVersionDescription> versions() {
+        synchronized (this.loaded) {
+            if (!this.loaded.get()) {
+                for (final ApplicationVersionDescription ver
+                    : this.client.describeApplicationVersions(
+                        new DescribeApplicationVersionsRequest()
+                            .withApplicationName(this.application)
+                    ).getApplicationVersions()) {
+                    this.index.put(ver.getVersionLabel(), ver);
+                }
+                this.loaded.set(true);
+                Logger.info(
+                    this, "%d version(s) of '%s' found",
+                    this.index.size(), this.application
+                );
+            }
+        }
+        return this.index;
+    }
+}
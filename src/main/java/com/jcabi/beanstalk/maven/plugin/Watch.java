@@ -0,0 +1,202 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEventsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.EventDescription;
+import com.jcabi.log.Logger;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import lombok.ToString;
+
+/**
+ * The way we find out that an environment may have changed its state,
+ * while waiting for it.
+ * @since 1.0
+ */
+interface Watch {
+
+    /**
+     * How long to wait before the next check.
+     * @param attempt How many checks were made already, starting from one
+     * @return Delay in milliseconds
+     */
+    long delay(int attempt);
+
+    /**
+     * May the environment have changed since the previous check?
+     * @return TRUE if its description has to be fetched again
+     */
+    boolean changed();
+
+    /**
+     * Watch that describes the environment on every check.
+     * @since 1.0
+     */
+    @ToString
+    final class Describe implements Watch {
+
+        /**
+         * Polling strategy.
+         */
+        private final transient Backoff backoff;
+
+        /**
+         * Public ctor.
+         * @param bkf Polling strategy
+         */
+        Describe(final Backoff bkf) {
+            this.backoff = bkf;
+        }
+
+        @Override
+        public long delay(final int attempt) {
+            return this.backoff.delay(attempt);
+        }
+
+        @Override
+        public boolean changed() {
+            return true;
+        }
+    }
+
+    /**
+     * Watch that follows EBT events of the environment, and describes
+     * it only when a terminal event arrives.
+     * @since 1.0
+     */
+    @ToString(of = "eid")
+    final class Events implements Watch {
+
+        /**
+         * How many quiet checks in a row make us describe anyway.
+         */
+        private static final int QUIET = 6;
+
+        /**
+         * How far back in time the cursor starts, in milliseconds.
+         */
+        private static final long SKEW_MS = TimeUnit.MINUTES.toMillis(1L);
+
+        /**
+         * Messages of events that finish a transition of environment.
+         */
+        private static final Pattern TERMINAL = Pattern.compile(
+            ".*(successfully|completed|terminated|failed|aborted).*",
+            Pattern.CASE_INSENSITIVE
+        );
+
+        /**
+         * AWS beanstalk client.
+         */
+        private final transient AWSElasticBeanstalk client;
+
+        /**
+         * Environment ID.
+         */
+        private final transient String eid;
+
+        /**
+         * Polling strategy.
+         */
+        private final transient Backoff backoff;
+
+        /**
+         * The time of the next event we are interested in.
+         */
+        private final transient AtomicReference<Date> cursor;
+
+        /**
+         * How many checks in a row gave no terminal events.
+         */
+        private final transient AtomicInteger quiet;
+
+        /**
+         * How many checks in a row gave no events at all.
+         */
+        private final transient AtomicInteger idle;
+
+        /**
+         * Public ctor.
+         * @param clnt The client
+         * @param idnt Environment ID
+         * @param bkf Polling strategy
+         */
+        Events(final AWSElasticBeanstalk clnt, final String idnt,
+            final Backoff bkf) {
+            this.client = clnt;
+            this.eid = idnt;
+            this.backoff = bkf;
+            this.cursor = new AtomicReference<>(
+                new Date(System.currentTimeMillis() - Watch.Events.SKEW_MS)
+            );
+            this.quiet = new AtomicInteger();
+            this.idle = new AtomicInteger();
+        }
+
+        @Override
+        public long delay(final int attempt) {
+            return this.backoff.delay(this.idle.get() + 1);
+        }
+
+        @Override
+        public boolean changed() {
+            boolean terminal = false;
+            Date next = this.cursor.get();
+            final List<EventDescription> fresh = this.client.describeEvents(
+                new DescribeEventsRequest()
+                    .withEnvironmentId(this.eid)
+                    .withStartTime(this.cursor.get())
+            ).getEvents();
+            for (final EventDescription event : fresh) {
+                final Date date = event.getEventDate();
+                if (date != null && !date.before(next)) {
+                    next = new Date(date.getTime() + 1L);
+                }
+                terminal |= this.terminal(event);
+            }
+            this.cursor.set(next);
+            if (fresh.isEmpty()) {
+                this.idle.incrementAndGet();
+            } else {
+                this.idle.set(0);
+            }
+            final boolean changed;
+            if (terminal
+                || this.quiet.incrementAndGet() >= Watch.Events.QUIET) {
+                this.quiet.set(0);
+                changed = true;
+            } else {
+                changed = false;
+            }
+            return changed;
+        }
+
+        private boolean terminal(final EventDescription event) {
+            final String severity = String.valueOf(event.getSeverity());
+            final boolean alarm = "ERROR".equals(severity)
+                || "FATAL".equals(severity);
+            if (alarm || "WARN".equals(severity)) {
+                Logger.warn(
+                    this, "Environment '%s' reported [%s]: %s",
+                    this.eid, severity, event.getMessage()
+                );
+            } else {
+                Logger.info(
+                    this, "Environment '%s' reported: %s",
+                    this.eid, event.getMessage()
+                );
+            }
+            return alarm || Watch.Events.TERMINAL.matcher(
+                String.valueOf(event.getMessage())
+            ).matches();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.services.elasticbeanstalk.model.S3Location;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link AddressedBundle}.
+ * @since 1.0
+ */
+final class AddressedBundleTest {
+
+    @Test
+    void storesBundleByItsContent(@TempDir final Path temp)
+        throws Exception {
+        final File war = Files.write(
+            temp.resolve("content.war"),
+            "addressed content".getBytes(StandardCharsets.UTF_8)
+        ).toFile();
+        final Bundle bundle = new AddressedBundle(
+            "my-key", war, new Hashes.Scan(Multipart.PART, new Timings()),
+            key -> {
+                final Bundle origin = Mockito.mock(Bundle.class);
+                Mockito.doReturn(new S3Location("bucket", key))
+                    .when(origin).location();
+                return origin;
+            }
+        );
+        Assertions.assertAll(
+            () -> MatcherAssert.assertThat(
+                "the name cannot differ from the configured key",
+                bundle.name(),
+                Matchers.equalTo("my-key")
+            ),
+            () -> MatcherAssert.assertThat(
+                "the S3 key cannot be anything but the digest",
+                bundle.location().getS3Key(),
+                Matchers.equalTo(
+                    String.format(
+                        "bundles/%s.war",
+                        DigestUtils.sha256Hex("addressed content")
+                    )
+                )
+            )
+        );
+    }
+}
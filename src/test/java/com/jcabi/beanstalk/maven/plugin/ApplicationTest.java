@@ -23,6 +23,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assumptions;
@@ -39,15 +40,17 @@ final class ApplicationTest {
     @Test
     void createsNewEnvironment() {
         final String name = "some-app-name";
-        final Application app = new Application(
-            ApplicationTest.beanstalk(name), name
-        );
-        app.clean(false);
-        MatcherAssert.assertThat(
-            "candidate environment cannot be absent",
-            app.candidate(Mockito.mock(Version.class), "some-template"),
-            Matchers.notNullValue()
-        );
+        try (Poller poller = ApplicationTest.poller()) {
+            final Application app = new Application(
+                ApplicationTest.beanstalk(name), name, poller
+            );
+            app.clean(false);
+            MatcherAssert.assertThat(
+                "candidate environment cannot be absent",
+                app.candidate(Mockito.mock(Version.class), "some-template"),
+                Matchers.notNullValue()
+            );
+        }
     }
 
     @Test
@@ -64,26 +67,36 @@ final class ApplicationTest {
             temp.resolve("temp.war"),
             "broken JAR file content".getBytes(StandardCharsets.UTF_8)
         ).toFile();
-        final Environment candidate = new Application(ebt, name).candidate(
-            new OverridingVersion(
-                ebt,
-                name,
-                new OverridingBundle(
-                    new AmazonS3Client(creds),
-                    "webapps.netbout.com",
-                    war.getName(),
-                    war
-                )
-            ),
-            name
-        );
-        candidate.terminate();
-        MatcherAssert.assertThat(
-            String.format(
-                "environment %s cannot survive termination", candidate
-            ),
-            candidate.terminated(),
-            Matchers.is(true)
+        try (Poller poller = ApplicationTest.poller()) {
+            final Environment candidate = new Application(ebt, name, poller)
+                .candidate(
+                    new OverridingVersion(
+                        ebt,
+                        name,
+                        new OverridingBundle(
+                            new AmazonS3Client(creds),
+                            "webapps.netbout.com",
+                            war.getName(),
+                            war
+                        )
+                    ),
+                    name
+                );
+            candidate.terminate();
+            MatcherAssert.assertThat(
+                String.format(
+                    "environment %s cannot survive termination", candidate
+                ),
+                candidate.terminated(),
+                Matchers.is(true)
+            );
+        }
+    }
+
+    private static Poller poller() {
+        return new Poller(
+            new Backoff.Exponential(), false,
+            new Deadline(TimeUnit.MINUTES.toMillis(30L)), new Timings()
         );
     }
 
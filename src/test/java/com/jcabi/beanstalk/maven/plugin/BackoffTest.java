@@ -0,0 +1,52 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Backoff}.
+ * @since 1.0
+ */
+final class BackoffTest {
+
+    @Test
+    void startsWithShortDelay() {
+        final long delay = new Backoff.Exponential(1000L, 60_000L).delay(1);
+        Assertions.assertAll(
+            () -> MatcherAssert.assertThat(
+                "the first delay cannot be longer than configured",
+                delay,
+                Matchers.lessThanOrEqualTo(1000L)
+            ),
+            () -> MatcherAssert.assertThat(
+                "the jitter cannot cut more than a quarter of the delay",
+                delay,
+                Matchers.greaterThanOrEqualTo(750L)
+            )
+        );
+    }
+
+    @Test
+    void growsExponentially() {
+        MatcherAssert.assertThat(
+            "the fourth delay cannot be shorter than six times the first",
+            new Backoff.Exponential(1000L, 60_000L).delay(4),
+            Matchers.greaterThanOrEqualTo(6000L)
+        );
+    }
+
+    @Test
+    void neverExceedsTheCap() {
+        MatcherAssert.assertThat(
+            "the delay cannot grow beyond the cap",
+            new Backoff.Exponential(1000L, 5000L).delay(100),
+            Matchers.lessThanOrEqualTo(5000L)
+        );
+    }
+}
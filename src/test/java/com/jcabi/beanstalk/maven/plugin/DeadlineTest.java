@@ -0,0 +1,95 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
+import com.amazonaws.services.elasticbeanstalk.model.CheckDNSAvailabilityRequest;
+import com.amazonaws.services.elasticbeanstalk.model.CheckDNSAvailabilityResult;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link Deadline}.
+ * @since 1.0
+ */
+final class DeadlineTest {
+
+    @Test
+    void passesCallsThroughInTime() {
+        final AWSElasticBeanstalk ebt = Mockito.mock(AWSElasticBeanstalk.class);
+        Mockito.when(
+            ebt.checkDNSAvailability(
+                Mockito.any(CheckDNSAvailabilityRequest.class)
+            )
+        ).thenReturn(new CheckDNSAvailabilityResult().withAvailable(true));
+        MatcherAssert.assertThat(
+            "guarded client cannot lose the result of a call",
+            new Deadline(TimeUnit.MINUTES.toMillis(1L)).guard(
+                AWSElasticBeanstalk.class, ebt
+            ).checkDNSAvailability(
+                new CheckDNSAvailabilityRequest("some-cname")
+            ).getAvailable(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void refusesCallsAfterDeadline() {
+        final AWSElasticBeanstalk ebt = Mockito.mock(AWSElasticBeanstalk.class);
+        final AWSElasticBeanstalk guarded = new Deadline(0L).guard(
+            AWSElasticBeanstalk.class, ebt
+        );
+        Assertions.assertThrows(
+            DeploymentException.class,
+            () -> guarded.checkDNSAvailability(
+                new CheckDNSAvailabilityRequest("late-cname")
+            ),
+            "expired deadline cannot let API calls through"
+        );
+        Mockito.verifyNoInteractions(ebt);
+    }
+
+    @Test
+    void passesCallsInOvertime() {
+        final AWSElasticBeanstalk ebt = Mockito.mock(AWSElasticBeanstalk.class);
+        Mockito.when(
+            ebt.checkDNSAvailability(
+                Mockito.any(CheckDNSAvailabilityRequest.class)
+            )
+        ).thenReturn(new CheckDNSAvailabilityResult().withAvailable(true));
+        final Deadline deadline = new Deadline(
+            0L, TimeUnit.MINUTES.toMillis(1L)
+        );
+        final AWSElasticBeanstalk guarded = deadline.guard(
+            AWSElasticBeanstalk.class, ebt
+        );
+        deadline.overtime();
+        MatcherAssert.assertThat(
+            "clean up cannot be refused in overtime",
+            guarded.checkDNSAvailability(
+                new CheckDNSAvailabilityRequest("late-cname")
+            ).getAvailable(),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            "overtime cannot refill the budget",
+            deadline.exhausted(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void shrinksTimeLeft() {
+        MatcherAssert.assertThat(
+            "time left cannot exceed the budget",
+            new Deadline(TimeUnit.SECONDS.toMillis(10L)).left(),
+            Matchers.lessThanOrEqualTo(TimeUnit.SECONDS.toMillis(10L))
+        );
+    }
+}
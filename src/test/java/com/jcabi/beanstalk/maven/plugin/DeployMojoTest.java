@@ -11,6 +11,7 @@ import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 
 /**
  * Test case for {@link DeployMojo} (more detailed test is in maven invoker).
@@ -28,6 +29,19 @@ final class DeployMojoTest {
         );
     }
 
+    @Test
+    void refusesToCreateEnvironmentWithoutTemplate() {
+        final Application app = Mockito.mock(Application.class);
+        Assertions.assertThrows(
+            DeploymentException.class,
+            () -> new DeployMojo().exec(
+                app, Mockito.mock(Version.class), null
+            ),
+            "environment cannot be created without a template"
+        );
+        Mockito.verifyNoInteractions(app);
+    }
+
     @Test
     void mentionsMojoAnnotationInClassFile() throws IOException {
         MatcherAssert.assertThat(
@@ -0,0 +1,42 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import java.util.Collections;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Digest}.
+ * @since 1.0
+ */
+final class DigestTest {
+
+    @Test
+    void matchesEtagOfEitherForm() {
+        final Digest digest = new Digest(
+            "0a1b", "2c3d-5", "4e5f", Collections.singletonList("0a1b")
+        );
+        Assertions.assertAll(
+            () -> MatcherAssert.assertThat(
+                "plain ETag cannot be compared with multipart one",
+                digest.matches("\"0a1b\""),
+                Matchers.is(true)
+            ),
+            () -> MatcherAssert.assertThat(
+                "multipart ETag cannot be compared with MD5",
+                digest.matches("2C3D-5"),
+                Matchers.is(true)
+            ),
+            () -> MatcherAssert.assertThat(
+                "different content cannot match",
+                digest.matches("0a1b-5"),
+                Matchers.is(false)
+            )
+        );
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Digester}.
+ * @since 1.0
+ */
+final class DigesterTest {
+
+    @Test
+    void splitsChunksIntoParts() {
+        final Digester digester = new Digester(4L);
+        digester.update(
+            ByteBuffer.wrap("abcdef".getBytes(StandardCharsets.UTF_8))
+        );
+        digester.update(
+            ByteBuffer.wrap("ghij".getBytes(StandardCharsets.UTF_8))
+        );
+        final Digest digest = digester.digest();
+        Assertions.assertAll(
+            () -> MatcherAssert.assertThat(
+                "parts cannot depend on the size of chunks",
+                digest.parts(),
+                Matchers.contains(
+                    DigestUtils.md5Hex("abcd"), DigestUtils.md5Hex("efgh"),
+                    DigestUtils.md5Hex("ij")
+                )
+            ),
+            () -> MatcherAssert.assertThat(
+                "MD5 cannot differ from the one of the whole content",
+                digest.md5(),
+                Matchers.equalTo(DigestUtils.md5Hex("abcdefghij"))
+            ),
+            () -> MatcherAssert.assertThat(
+                "SHA-256 cannot differ from the one of the whole content",
+                digest.sha256(),
+                Matchers.equalTo(DigestUtils.sha256Hex("abcdefghij"))
+            )
+        );
+    }
+}
@@ -10,11 +10,23 @@ import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalkClient;
 import com.amazonaws.services.elasticbeanstalk.model.DescribeEnvironmentsRequest;
 import com.amazonaws.services.elasticbeanstalk.model.DescribeEnvironmentsResult;
 import com.amazonaws.services.elasticbeanstalk.model.EnvironmentDescription;
+import com.amazonaws.services.elasticbeanstalk.model.EnvironmentInfoDescription;
+import com.amazonaws.services.elasticbeanstalk.model.RetrieveEnvironmentInfoRequest;
+import com.amazonaws.services.elasticbeanstalk.model.RetrieveEnvironmentInfoResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
 /**
@@ -34,23 +46,125 @@ final class EnvironmentTest {
             new DescribeEnvironmentsResult().withEnvironments(
                 Collections.singletonList(
                     new EnvironmentDescription()
+                        .withEnvironmentId("some-env-id")
                         .withStatus("Ready")
                         .withHealth("Red")
                 )
             )
         );
+        try (Poller poller = EnvironmentTest.poller()) {
+            MatcherAssert.assertThat(
+                "red environment cannot be green",
+                new Environment(ebt, "some-env-id", poller).green(),
+                Matchers.is(false)
+            );
+        }
+    }
+
+    @Test
+    void waitsForGreenHealth() {
+        final AWSElasticBeanstalk ebt = Mockito.mock(AWSElasticBeanstalk.class);
+        Mockito.when(
+            ebt.describeEnvironments(
+                Mockito.any(DescribeEnvironmentsRequest.class)
+            )
+        ).thenReturn(
+            new DescribeEnvironmentsResult().withEnvironments(
+                new EnvironmentDescription()
+                    .withEnvironmentId("green-env-id")
+                    .withStatus("Ready")
+                    .withHealth("Green")
+            )
+        );
+        try (Poller poller = EnvironmentTest.poller()) {
+            MatcherAssert.assertThat(
+                "green environment cannot be reported otherwise",
+                new Environment(ebt, "green-env-id", poller).healthy(),
+                Matchers.is(true)
+            );
+        }
+    }
+
+    @Test
+    void streamsTailReportUpToTheCap(@TempDir final Path temp)
+        throws Exception {
+        final Path log = temp.resolve("tail.log");
+        Files.write(
+            log, Arrays.asList("first", "second", "third"),
+            StandardCharsets.UTF_8
+        );
+        final AWSElasticBeanstalk ebt = Mockito.mock(AWSElasticBeanstalk.class);
+        Mockito.doReturn(
+            new DescribeEnvironmentsResult().withEnvironments(
+                new EnvironmentDescription()
+                    .withEnvironmentId("some-env-id")
+                    .withStatus("Ready")
+            )
+        ).when(ebt).describeEnvironments(
+            Mockito.any(DescribeEnvironmentsRequest.class)
+        );
+        Mockito.doReturn(
+            new RetrieveEnvironmentInfoResult().withEnvironmentInfo(
+                new EnvironmentInfoDescription()
+                    .withMessage(log.toUri().toString())
+            )
+        ).when(ebt).retrieveEnvironmentInfo(
+            Mockito.any(RetrieveEnvironmentInfoRequest.class)
+        );
+        final List<String> lines = new LinkedList<>();
+        try (Poller poller = EnvironmentTest.poller()) {
+            new Environment(ebt, "some-env-id", poller)
+                .tail(lines::add, 2, 1024L);
+        }
         MatcherAssert.assertThat(
-            "red environment cannot be green",
-            new Environment(ebt, "some-env-id").green(),
-            Matchers.is(false)
+            "environment cannot send more lines of TAIL than allowed",
+            lines,
+            Matchers.contains(
+                Matchers.equalTo("first"),
+                Matchers.equalTo("second"),
+                Matchers.startsWith("...")
+            )
+        );
+    }
+
+    @Test
+    void downloadsFullLogsOfAllInstances(@TempDir final Path temp)
+        throws Exception {
+        final Path first = temp.resolve("first.zip");
+        Files.write(first, new byte[] {1, 2, 3});
+        final Path second = temp.resolve("second.zip");
+        Files.write(second, new byte[] {4, 5});
+        final AWSElasticBeanstalk ebt = Mockito.mock(AWSElasticBeanstalk.class);
+        Mockito.doReturn(
+            new RetrieveEnvironmentInfoResult().withEnvironmentInfo(
+                new EnvironmentInfoDescription()
+                    .withEc2InstanceId("i-1")
+                    .withSampleTimestamp(new Date())
+                    .withMessage(first.toUri().toString()),
+                new EnvironmentInfoDescription()
+                    .withEc2InstanceId("i-2")
+                    .withSampleTimestamp(new Date())
+                    .withMessage(second.toUri().toString())
+            )
+        ).when(ebt).retrieveEnvironmentInfo(
+            Mockito.any(RetrieveEnvironmentInfoRequest.class)
+        );
+        final Path dir = temp.resolve("logs");
+        try (Poller poller = EnvironmentTest.poller()) {
+            new Environment(ebt, "some-env-id", poller).logs(dir.toFile(), 2);
+        }
+        MatcherAssert.assertThat(
+            "environment cannot lose logs of an instance",
+            Files.readAllBytes(dir.resolve("i-2.zip")),
+            Matchers.equalTo(new byte[] {4, 5})
         );
     }
 
     @Test
     void fetchesTailReportFromLiveEnvironment() {
         Assumptions.assumeTrue(System.getProperty("aws.key") != null);
-        MatcherAssert.assertThat(
-            "live environment cannot report an empty TAIL",
+        final List<String> lines = new LinkedList<>();
+        try (Poller poller = EnvironmentTest.poller()) {
             new Environment(
                 new AWSElasticBeanstalkClient(
                     new BasicAWSCredentials(
@@ -58,17 +172,22 @@ final class EnvironmentTest {
                         System.getProperty("aws.secret")
                     )
                 ),
-                "e-2n2mqauqae"
-            ).tail(),
-            Matchers.not(Matchers.emptyString())
+                "e-2n2mqauqae",
+                poller
+            ).tail(lines::add, 100, 65_536L);
+        }
+        MatcherAssert.assertThat(
+            "live environment cannot report an empty TAIL",
+            lines,
+            Matchers.not(Matchers.empty())
         );
     }
 
     @Test
     void collectsEventsFromLiveEnvironment() {
         Assumptions.assumeTrue(System.getProperty("aws.key") != null);
-        MatcherAssert.assertThat(
-            "live environment cannot report no events",
+        final List<String> events = new LinkedList<>();
+        try (Poller poller = EnvironmentTest.poller()) {
             new Environment(
                 new AWSElasticBeanstalkClient(
                     new BasicAWSCredentials(
@@ -76,9 +195,21 @@ final class EnvironmentTest {
                         System.getProperty("aws.secret")
                     )
                 ),
-                "e-nxmcbf3pvk"
-            ).events(),
-            Matchers.not(Matchers.emptyArray())
+                "e-nxmcbf3pvk",
+                poller
+            ).events(events::add, new Date(0L), 10);
+        }
+        MatcherAssert.assertThat(
+            "live environment cannot report no events",
+            events,
+            Matchers.not(Matchers.empty())
+        );
+    }
+
+    private static Poller poller() {
+        return new Poller(
+            new Backoff.Exponential(), false,
+            new Deadline(TimeUnit.MINUTES.toMillis(5L)), new Timings()
         );
     }
 }
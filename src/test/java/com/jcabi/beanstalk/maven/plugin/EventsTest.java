@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEventsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEventsResult;
+import com.amazonaws.services.elasticbeanstalk.model.EventDescription;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link Events}.
+ * @since 1.0
+ */
+final class EventsTest {
+
+    @Test
+    void followsNextTokenAndSkipsOtherVersions() {
+        final AWSElasticBeanstalk ebt = Mockito.mock(AWSElasticBeanstalk.class);
+        Mockito.doReturn(
+            new DescribeEventsResult()
+                .withEvents(
+                    EventsTest.event("first", "v2"),
+                    EventsTest.event("stranger", "v1")
+                )
+                .withNextToken("page-2"),
+            new DescribeEventsResult().withEvents(
+                EventsTest.event("second", null)
+            )
+        ).when(ebt).describeEvents(Mockito.any(DescribeEventsRequest.class));
+        MatcherAssert.assertThat(
+            "events cannot be lost between pages",
+            EventsTest.messages(new Events(ebt, "e-1", new Date(), "v2", 10)),
+            Matchers.contains("first", "second")
+        );
+    }
+
+    @Test
+    void stopsAtTheLimit() {
+        final AWSElasticBeanstalk ebt = Mockito.mock(AWSElasticBeanstalk.class);
+        Mockito.doReturn(
+            new DescribeEventsResult()
+                .withEvents(
+                    EventsTest.event("one", null),
+                    EventsTest.event("two", null)
+                )
+                .withNextToken("more")
+        ).when(ebt).describeEvents(Mockito.any(DescribeEventsRequest.class));
+        MatcherAssert.assertThat(
+            "events cannot go beyond the limit",
+            EventsTest.messages(new Events(ebt, "e-2", new Date(), null, 1)),
+            Matchers.contains("one")
+        );
+        Mockito.verify(ebt, Mockito.times(1))
+            .describeEvents(Mockito.any(DescribeEventsRequest.class));
+    }
+
+    private static EventDescription event(final String msg,
+        final String label) {
+        return new EventDescription()
+            .withEventDate(new Date())
+            .withSeverity("INFO")
+            .withVersionLabel(label)
+            .withMessage(msg);
+    }
+
+    private static List<String> messages(final Events events) {
+        final List<String> list = new LinkedList<>();
+        for (final EventDescription event : events) {
+            list.add(event.getMessage());
+        }
+        return list;
+    }
+}
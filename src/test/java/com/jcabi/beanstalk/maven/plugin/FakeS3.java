@@ -0,0 +1,355 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
+import com.amazonaws.services.s3.model.CopyPartRequest;
+import com.amazonaws.services.s3.model.CopyPartResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
+import com.amazonaws.services.s3.model.ListPartsRequest;
+import com.amazonaws.services.s3.model.MultipartUpload;
+import com.amazonaws.services.s3.model.MultipartUploadListing;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PartListing;
+import com.amazonaws.services.s3.model.PartSummary;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
+
+/**
+ * S3 in memory, which understands only the requests we make.
+ * @since 1.0
+ */
+final class FakeS3 {
+
+    /**
+     * Objects, by key.
+     */
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>(0);
+
+    /**
+     * Metadata of objects, by key.
+     */
+    private final Map<String, ObjectMetadata> metas =
+        new ConcurrentHashMap<>(0);
+
+    /**
+     * Parts of multipart uploads, by upload ID.
+     */
+    private final Map<String, Map<Integer, byte[]>> uploads =
+        new ConcurrentHashMap<>(0);
+
+    /**
+     * Moments multipart uploads were started, by upload ID.
+     */
+    private final Map<String, Date> initiated = new ConcurrentHashMap<>(0);
+
+    /**
+     * How many parts were sent to S3.
+     */
+    private final AtomicInteger sent = new AtomicInteger();
+
+    /**
+     * The client.
+     * @return Client of this S3
+     */
+    AmazonS3 client() {
+        return (AmazonS3) Proxy.newProxyInstance(
+            AmazonS3.class.getClassLoader(),
+            new Class<?>[] {AmazonS3.class},
+            (proxy, method, args) -> this.call(method, args)
+        );
+    }
+
+    /**
+     * Content of the object.
+     * @param key S3 key
+     * @return Content, NULL if absent
+     */
+    byte[] content(final String key) {
+        return this.objects.get(key);
+    }
+
+    /**
+     * IDs of multipart uploads in progress.
+     * @return Upload IDs
+     */
+    Set<String> uploads() {
+        return this.uploads.keySet();
+    }
+
+    /**
+     * Make multipart uploads in progress older.
+     * @param millis How much older, in milliseconds
+     */
+    void age(final long millis) {
+        this.initiated.replaceAll(
+            (uid, date) -> new Date(date.getTime() - millis)
+        );
+    }
+
+    /**
+     * How many parts of multipart uploads were sent to S3.
+     * @return Parts
+     */
+    int sent() {
+        return this.sent.get();
+    }
+
+    @SuppressWarnings("PMD.CyclomaticComplexity")
+    private Object call(final Method method, final Object[] args)
+        throws IOException {
+        final Object result;
+        switch (method.getName()) {
+            case "getObjectMetadata":
+                result = this.meta((String) args[1]);
+                break;
+            case "getObject":
+                result = this.get((String) args[1]);
+                break;
+            case "putObject":
+                result = this.put(args);
+                break;
+            case "initiateMultipartUpload":
+                result = this.initiate(
+                    (InitiateMultipartUploadRequest) args[0]
+                );
+                break;
+            case "uploadPart":
+                result = this.upload((UploadPartRequest) args[0]);
+                break;
+            case "listMultipartUploads":
+                result = this.uploads(
+                    (ListMultipartUploadsRequest) args[0]
+                );
+                break;
+            case "listParts":
+                result = this.list((ListPartsRequest) args[0]);
+                break;
+            case "copyPart":
+                result = this.copy((CopyPartRequest) args[0]);
+                break;
+            case "completeMultipartUpload":
+                result = this.complete(
+                    (CompleteMultipartUploadRequest) args[0]
+                );
+                break;
+            case "abortMultipartUpload":
+                this.uploads.remove(
+                    ((AbortMultipartUploadRequest) args[0]).getUploadId()
+                );
+                result = null;
+                break;
+            default:
+                throw new UnsupportedOperationException(method.getName());
+        }
+        return result;
+    }
+
+    private ObjectMetadata meta(final String key) {
+        final ObjectMetadata meta = this.metas.get(key);
+        if (meta == null) {
+            final AmazonS3Exception ex = new AmazonS3Exception("Not Found");
+            ex.setStatusCode(404);
+            throw ex;
+        }
+        return meta;
+    }
+
+    private S3Object get(final String key) {
+        final ObjectMetadata meta = this.meta(key);
+        final S3Object obj = new S3Object();
+        obj.setObjectMetadata(meta);
+        obj.setObjectContent(new ByteArrayInputStream(this.objects.get(key)));
+        return obj;
+    }
+
+    private PutObjectResult put(final Object[] args) throws IOException {
+        final String key;
+        final byte[] bytes;
+        final ObjectMetadata meta;
+        if (args.length == 1) {
+            final PutObjectRequest req = (PutObjectRequest) args[0];
+            key = req.getKey();
+            if (req.getFile() == null) {
+                try (InputStream input = req.getInputStream()) {
+                    bytes = IOUtils.toByteArray(input);
+                }
+            } else {
+                bytes = Files.readAllBytes(req.getFile().toPath());
+            }
+            meta = req.getMetadata();
+        } else {
+            key = (String) args[1];
+            try (InputStream input = (InputStream) args[2]) {
+                bytes = IOUtils.toByteArray(input);
+            }
+            meta = (ObjectMetadata) args[3];
+        }
+        final PutObjectResult res = new PutObjectResult();
+        res.setETag(this.save(key, bytes, DigestUtils.md5Hex(bytes), meta));
+        return res;
+    }
+
+    private InitiateMultipartUploadResult initiate(
+        final InitiateMultipartUploadRequest req) {
+        final String uid = String.format(
+            "%s %s", req.getKey(), UUID.randomUUID()
+        );
+        this.uploads.put(uid, new ConcurrentSkipListMap<>());
+        this.initiated.put(uid, new Date());
+        this.metas.put(uid, req.getObjectMetadata());
+        final InitiateMultipartUploadResult res =
+            new InitiateMultipartUploadResult();
+        res.setUploadId(uid);
+        return res;
+    }
+
+    private UploadPartResult upload(final UploadPartRequest req)
+        throws IOException {
+        final byte[] bytes = new byte[(int) req.getPartSize()];
+        if (req.getFile() == null) {
+            try (InputStream input = req.getInputStream()) {
+                IOUtils.readFully(input, bytes);
+            }
+        } else {
+            try (RandomAccessFile file =
+                new RandomAccessFile(req.getFile(), "r")) {
+                file.seek(req.getFileOffset());
+                file.readFully(bytes);
+            }
+        }
+        this.sent.incrementAndGet();
+        this.uploads.get(req.getUploadId()).put(req.getPartNumber(), bytes);
+        final UploadPartResult res = new UploadPartResult();
+        res.setPartNumber(req.getPartNumber());
+        res.setETag(DigestUtils.md5Hex(bytes));
+        return res;
+    }
+
+    private PartListing list(final ListPartsRequest req) {
+        final Map<Integer, byte[]> parts = this.uploads.get(req.getUploadId());
+        if (parts == null) {
+            final AmazonS3Exception ex = new AmazonS3Exception("NoSuchUpload");
+            ex.setStatusCode(404);
+            throw ex;
+        }
+        final List<PartSummary> summaries = new ArrayList<>(parts.size());
+        for (final Map.Entry<Integer, byte[]> part : parts.entrySet()) {
+            final PartSummary summary = new PartSummary();
+            summary.setPartNumber(part.getKey());
+            summary.setETag(DigestUtils.md5Hex(part.getValue()));
+            summaries.add(summary);
+        }
+        final PartListing listing = new PartListing();
+        listing.setParts(summaries);
+        return listing;
+    }
+
+    private MultipartUploadListing uploads(
+        final ListMultipartUploadsRequest req) {
+        final List<MultipartUpload> found = new ArrayList<>(0);
+        for (final String uid : this.uploads.keySet()) {
+            final String key = uid.substring(0, uid.lastIndexOf(' '));
+            if (key.startsWith(req.getPrefix())) {
+                final MultipartUpload upload = new MultipartUpload();
+                upload.setKey(key);
+                upload.setUploadId(uid);
+                upload.setInitiated(this.initiated.get(uid));
+                found.add(upload);
+            }
+        }
+        final MultipartUploadListing listing = new MultipartUploadListing();
+        listing.setMultipartUploads(found);
+        return listing;
+    }
+
+    private CopyPartResult copy(final CopyPartRequest req) {
+        final ObjectMetadata meta = this.metas.get(req.getSourceKey());
+        CopyPartResult res = null;
+        if (meta != null && req.getMatchingETagConstraints()
+            .contains(meta.getETag())) {
+            final byte[] bytes = Arrays.copyOfRange(
+                this.objects.get(req.getSourceKey()),
+                req.getFirstByte().intValue(),
+                req.getLastByte().intValue() + 1
+            );
+            this.uploads.get(req.getUploadId())
+                .put(req.getPartNumber(), bytes);
+            res = new CopyPartResult();
+            res.setPartNumber(req.getPartNumber());
+            res.setETag(DigestUtils.md5Hex(bytes));
+        }
+        return res;
+    }
+
+    private CompleteMultipartUploadResult complete(
+        final CompleteMultipartUploadRequest req) throws IOException {
+        final Map<Integer, byte[]> parts =
+            this.uploads.remove(req.getUploadId());
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        final ByteArrayOutputStream digests = new ByteArrayOutputStream();
+        for (final PartETag etag : req.getPartETags()) {
+            final byte[] bytes = parts.get(etag.getPartNumber());
+            content.write(bytes);
+            digests.write(DigestUtils.md5(bytes));
+        }
+        final CompleteMultipartUploadResult res =
+            new CompleteMultipartUploadResult();
+        res.setETag(
+            this.save(
+                req.getKey(), content.toByteArray(),
+                String.format(
+                    "%s-%d", DigestUtils.md5Hex(digests.toByteArray()),
+                    req.getPartETags().size()
+                ),
+                this.metas.remove(req.getUploadId())
+            )
+        );
+        return res;
+    }
+
+    private String save(final String key, final byte[] bytes,
+        final String etag, final ObjectMetadata origin) {
+        final ObjectMetadata meta = new ObjectMetadata();
+        if (origin != null) {
+            meta.setUserMetadata(origin.getUserMetadata());
+        }
+        meta.setContentLength(bytes.length);
+        meta.setHeader("ETag", etag);
+        this.objects.put(key, bytes);
+        this.metas.put(key, meta);
+        return etag;
+    }
+}
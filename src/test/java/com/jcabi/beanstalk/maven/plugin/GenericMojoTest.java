@@ -9,6 +9,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import org.apache.maven.plugin.MojoFailureException;
@@ -35,8 +36,12 @@ final class GenericMojoTest {
             .setBucket(Mockito.any(String.class));
         Mockito.doCallRealMethod().when(mojo)
             .setKey(Mockito.any(String.class));
+        Mockito.doCallRealMethod().when(mojo)
+            .setDirectory(Mockito.any(File.class));
         final File war = GenericMojoTest.war(temp, "User: ed");
         mojo.setWar(war);
+        mojo.setPartSize(16);
+        mojo.setDirectory(temp.toFile());
         mojo.setName("name");
         mojo.setBucket("bucket");
         mojo.setKey("key");
@@ -75,6 +80,119 @@ final class GenericMojoTest {
         );
     }
 
+    @Test
+    void rejectsPartsSmallerThanS3Accepts(@TempDir final Path temp)
+        throws Exception {
+        final AbstractBeanstalkMojo mojo =
+            GenericMojoTest.mojo();
+        mojo.setWar(GenericMojoTest.war(temp, "User: ed"));
+        mojo.setPartSize(1);
+        MatcherAssert.assertThat(
+            "too small parts cannot be reported differently",
+            Assertions.assertThrows(
+                MojoFailureException.class,
+                mojo::execute,
+                "the mojo cannot upload parts smaller than 5 MB"
+            ).getMessage(),
+            Matchers.equalTo(
+                "partSize is 1 MB, S3 doesn't accept parts smaller than 5 MB"
+            )
+        );
+    }
+
+    @Test
+    void failsWhenOneOfTargetsFails(@TempDir final Path temp)
+        throws Exception {
+        final AbstractBeanstalkMojo mojo =
+            GenericMojoTest.mojo();
+        Mockito.doCallRealMethod().when(mojo)
+            .setBucket(Mockito.any(String.class));
+        Mockito.doCallRealMethod().when(mojo)
+            .setKey(Mockito.any(String.class));
+        Mockito.doCallRealMethod().when(mojo)
+            .setDirectory(Mockito.any(File.class));
+        Mockito.doCallRealMethod().when(mojo).setTargets(Mockito.anyList());
+        Mockito.doAnswer(
+            inv -> {
+                if ("broken".equals(inv.getArgument(0).toString())) {
+                    throw new DeploymentException("broken target");
+                }
+                return null;
+            }
+        ).when(mojo).exec(
+            Mockito.any(Application.class), Mockito.any(Version.class),
+            Mockito.any()
+        );
+        mojo.setWar(GenericMojoTest.war(temp, "User: ed"));
+        mojo.setPartSize(16);
+        mojo.setDirectory(temp.toFile());
+        mojo.setBucket("bucket");
+        mojo.setKey("key");
+        mojo.setTargets(
+            Arrays.asList(
+                new Target("broken", "", "", ""),
+                new Target("healthy", "", "", "")
+            )
+        );
+        Assertions.assertThrows(
+            MojoFailureException.class,
+            mojo::execute,
+            "the mojo cannot succeed when one of its targets fails"
+        );
+        Mockito.verify(mojo, Mockito.times(2)).exec(
+            Mockito.any(Application.class), Mockito.any(Version.class),
+            Mockito.any()
+        );
+    }
+
+    @Test
+    void terminatesEnvironmentWhenLogsFail(@TempDir final Path temp)
+        throws Exception {
+        final AbstractBeanstalkMojo mojo =
+            GenericMojoTest.mojo();
+        Mockito.doCallRealMethod().when(mojo)
+            .setName(Mockito.any(String.class));
+        Mockito.doCallRealMethod().when(mojo)
+            .setBucket(Mockito.any(String.class));
+        Mockito.doCallRealMethod().when(mojo)
+            .setKey(Mockito.any(String.class));
+        Mockito.doCallRealMethod().when(mojo)
+            .setDirectory(Mockito.any(File.class));
+        Mockito.doCallRealMethod().when(mojo).setLogs(Mockito.anyBoolean());
+        Mockito.doCallRealMethod().when(mojo)
+            .postMortem(Mockito.any(Environment.class));
+        final Environment env = Mockito.mock(Environment.class);
+        Mockito.doReturn("env").when(env).name();
+        Mockito.doThrow(new DeploymentException("no logs")).when(env)
+            .logs(Mockito.any(File.class), Mockito.anyInt());
+        Mockito.doAnswer(
+            inv -> {
+                mojo.postMortem(env);
+                throw new DeploymentException("never got GREEN");
+            }
+        ).when(mojo).exec(
+            Mockito.any(Application.class), Mockito.any(Version.class),
+            Mockito.any()
+        );
+        mojo.setWar(GenericMojoTest.war(temp, "User: ed"));
+        mojo.setPartSize(16);
+        mojo.setDirectory(temp.toFile());
+        mojo.setName("name");
+        mojo.setBucket("bucket");
+        mojo.setKey("key");
+        mojo.setLogs(true);
+        MatcherAssert.assertThat(
+            "failure of logs cannot hide the cause",
+            Assertions.assertThrows(
+                MojoFailureException.class,
+                mojo::execute,
+                "the mojo cannot succeed when the environment fails"
+            ).getCause().getMessage(),
+            Matchers.equalTo("never got GREEN")
+        );
+        Mockito.verify(env).terminate();
+    }
+
     private static AbstractBeanstalkMojo mojo() throws MojoFailureException {
         final AbstractBeanstalkMojo mojo =
             Mockito.mock(AbstractBeanstalkMojo.class);
@@ -82,6 +200,7 @@ final class GenericMojoTest {
         Mockito.doCallRealMethod().when(mojo).getLog();
         Mockito.doCallRealMethod().when(mojo)
             .setWar(Mockito.any(File.class));
+        Mockito.doCallRealMethod().when(mojo).setPartSize(Mockito.anyInt());
         Mockito.doCallRealMethod().when(mojo)
             .validate(Mockito.any(File.class));
         return mojo;
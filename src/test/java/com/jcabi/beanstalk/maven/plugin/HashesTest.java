@@ -0,0 +1,172 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link Hashes}.
+ * @since 1.0
+ */
+final class HashesTest {
+
+    @Test
+    void calculatesMultipartEtag(@TempDir final Path temp) throws Exception {
+        final Path file = temp.resolve("parts.war");
+        Files.write(file, "abcdefghij".getBytes(StandardCharsets.UTF_8));
+        final byte[] parts = new byte[48];
+        System.arraycopy(DigestUtils.md5("abcd"), 0, parts, 0, 16);
+        System.arraycopy(DigestUtils.md5("efgh"), 0, parts, 16, 16);
+        System.arraycopy(DigestUtils.md5("ij"), 0, parts, 32, 16);
+        MatcherAssert.assertThat(
+            "multipart ETag cannot differ from the one S3 makes",
+            new Hashes.Scan(4L, new Timings()).digest(file.toFile())
+                .multipart(),
+            Matchers.equalTo(
+                String.format("%s-3", DigestUtils.md5Hex(parts))
+            )
+        );
+    }
+
+    @Test
+    void hashesFileOnceUntilItChanges(@TempDir final Path temp)
+        throws Exception {
+        final Path file = temp.resolve("memo.war");
+        Files.write(file, "first".getBytes(StandardCharsets.UTF_8));
+        final Hashes origin = Mockito.mock(Hashes.class);
+        Mockito.doReturn(
+            new Digest("aa", "aa", "bb", Collections.singletonList("aa"))
+        ).when(origin).digest(Mockito.any(File.class));
+        final Hashes hashes = new Hashes.Memo(origin);
+        hashes.digest(file.toFile());
+        hashes.digest(file.toFile());
+        Mockito.verify(origin, Mockito.times(1)).digest(Mockito.any());
+        Files.write(file, "second!".getBytes(StandardCharsets.UTF_8));
+        hashes.digest(file.toFile());
+        Mockito.verify(origin, Mockito.times(2)).digest(Mockito.any());
+    }
+
+    @Test
+    void remembersDigestsMadeElsewhere(@TempDir final Path temp)
+        throws Exception {
+        final Path file = temp.resolve("remembered.war");
+        Files.write(file, "uploaded".getBytes(StandardCharsets.UTF_8));
+        final Hashes origin = Mockito.mock(Hashes.class);
+        final Hashes hashes = new Hashes.Memo(
+            new Hashes.Index(
+                origin, temp.resolve("remembered.properties").toFile(), 4L
+            )
+        );
+        final Digest digest = new Digest(
+            "cc", "cc", "dd", Collections.singletonList("cc")
+        );
+        hashes.remember(file.toFile(), digest);
+        MatcherAssert.assertThat(
+            "remembered digests cannot be calculated again",
+            hashes.digest(file.toFile()).sha256(),
+            Matchers.equalTo("dd")
+        );
+        Mockito.verify(origin, Mockito.never()).digest(Mockito.any());
+    }
+
+    @Test
+    void keepsDigestsBetweenBuilds(@TempDir final Path temp)
+        throws Exception {
+        final Path file = temp.resolve("index.war");
+        Files.write(file, "indexed".getBytes(StandardCharsets.UTF_8));
+        final File index = temp.resolve("digests.properties").toFile();
+        new Hashes.Index(new Hashes.Scan(4L, new Timings()), index, 4L)
+            .digest(file.toFile());
+        final Hashes origin = Mockito.mock(Hashes.class);
+        MatcherAssert.assertThat(
+            "digests cannot be lost between builds",
+            new Hashes.Index(origin, index, 4L).digest(file.toFile()).md5(),
+            Matchers.equalTo(DigestUtils.md5Hex("indexed"))
+        );
+        Mockito.verify(origin, Mockito.never()).digest(Mockito.any());
+    }
+
+    @Test
+    void hashesFileLargerThanReadBuffer(@TempDir final Path temp)
+        throws Exception {
+        final byte[] data = new byte[(4 << 20) + 1001];
+        new Random().nextBytes(data);
+        final Path file = Files.write(temp.resolve("large.war"), data);
+        final long part = 3L << 20;
+        final byte[] parts = new byte[32];
+        System.arraycopy(
+            DigestUtils.md5(Arrays.copyOfRange(data, 0, (int) part)),
+            0, parts, 0, 16
+        );
+        System.arraycopy(
+            DigestUtils.md5(
+                Arrays.copyOfRange(data, (int) part, data.length)
+            ),
+            0, parts, 16, 16
+        );
+        final Digest digest = new Hashes.Scan(part, new Timings())
+            .digest(file.toFile());
+        Assertions.assertAll(
+            () -> MatcherAssert.assertThat(
+                "MD5 cannot be lost between reads",
+                digest.md5(),
+                Matchers.equalTo(DigestUtils.md5Hex(data))
+            ),
+            () -> MatcherAssert.assertThat(
+                "SHA-256 cannot be lost between reads",
+                digest.sha256(),
+                Matchers.equalTo(DigestUtils.sha256Hex(data))
+            ),
+            () -> MatcherAssert.assertThat(
+                "parts cannot be lost between reads",
+                digest.multipart(),
+                Matchers.equalTo(
+                    String.format("%s-2", DigestUtils.md5Hex(parts))
+                )
+            )
+        );
+    }
+
+    @Test
+    void calculatesPlainMd5(@TempDir final Path temp) throws Exception {
+        final Path file = temp.resolve("small.war");
+        Files.write(file, "small".getBytes(StandardCharsets.UTF_8));
+        final Digest digest = new Hashes.Scan(1024L, new Timings())
+            .digest(file.toFile());
+        Assertions.assertAll(
+            () -> MatcherAssert.assertThat(
+                "MD5 cannot differ from the one of the content",
+                digest,
+                Matchers.equalTo(HashesTest.digest("small"))
+            ),
+            () -> MatcherAssert.assertThat(
+                "MD5 cannot match another content",
+                digest,
+                Matchers.not(Matchers.equalTo(HashesTest.digest("large")))
+            )
+        );
+    }
+
+    private static Digest digest(final String content) {
+        return new Digest(
+            DigestUtils.md5Hex(content), DigestUtils.md5Hex(content),
+            DigestUtils.sha256Hex(content),
+            Collections.singletonList(DigestUtils.md5Hex(content))
+        );
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Interceptor}.
+ * @since 1.0
+ */
+final class InterceptorTest {
+
+    @Test
+    void interceptsCallsOfInterface() {
+        final AtomicInteger calls = new AtomicInteger();
+        final CharSequence text = new Interceptor<>(
+            CharSequence.class, "one",
+            (method, call) -> {
+                calls.incrementAndGet();
+                return call.make();
+            }
+        ).proxy();
+        MatcherAssert.assertThat(
+            "the object cannot be bypassed",
+            text.length(),
+            Matchers.equalTo(3)
+        );
+        MatcherAssert.assertThat(
+            "methods of Object cannot be intercepted",
+            String.format("%s %d %b", text, calls.get(), text.equals(text)),
+            Matchers.equalTo("one 1 true")
+        );
+    }
+
+    @Test
+    void throwsWhatObjectThrows() {
+        final CharSequence text = new Interceptor<>(
+            CharSequence.class, "", (method, call) -> call.make()
+        ).proxy();
+        Assertions.assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> text.charAt(1),
+            "failure of the object cannot be wrapped"
+        );
+    }
+}
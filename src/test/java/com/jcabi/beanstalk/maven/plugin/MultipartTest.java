@@ -0,0 +1,350 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.ListMultipartUploadsRequest;
+import com.amazonaws.services.s3.model.MultipartUploadListing;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link Multipart}.
+ * @since 1.0
+ */
+final class MultipartTest {
+
+    @Test
+    void retriesFailedPartOnItsOwn(@TempDir final Path temp)
+        throws Exception {
+        final AmazonS3 client = MultipartTest.client();
+        final AtomicBoolean failed = new AtomicBoolean();
+        Mockito.doAnswer(
+            inv -> {
+                final UploadPartRequest req = inv.getArgument(0);
+                if (req.getPartNumber() == 2 && !failed.getAndSet(true)) {
+                    throw new AmazonClientException("connection reset");
+                }
+                final UploadPartResult res = new UploadPartResult();
+                res.setPartNumber(req.getPartNumber());
+                res.setETag(String.format("etag-%d", req.getPartNumber()));
+                return res;
+            }
+        ).when(client).uploadPart(Mockito.any(UploadPartRequest.class));
+        final File war = MultipartTest.war(temp);
+        new Multipart(client, 10L, 2).upload(
+            "bucket", "key", war,
+            new Hashes.Scan(10L, new Timings()).digest(war)
+        );
+        final ArgumentCaptor<CompleteMultipartUploadRequest> captor =
+            ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        Mockito.verify(client).completeMultipartUpload(captor.capture());
+        MatcherAssert.assertThat(
+            "parts cannot be lost or reordered",
+            captor.getValue().getPartETags().get(1).getETag(),
+            Matchers.equalTo("etag-2")
+        );
+    }
+
+    @Test
+    void abortsUploadWhenPartFails(@TempDir final Path temp)
+        throws Exception {
+        final AmazonS3 client = MultipartTest.client();
+        Mockito.doThrow(new AmazonClientException("network is down"))
+            .when(client).uploadPart(Mockito.any(UploadPartRequest.class));
+        final File war = MultipartTest.war(temp);
+        Assertions.assertThrows(
+            DeploymentException.class,
+            () -> new Multipart(client, 10L, 2).upload(
+                "bucket", "key", war,
+                new Hashes.Scan(10L, new Timings()).digest(war)
+            )
+        );
+        Mockito.verify(client).abortMultipartUpload(
+            Mockito.any(AbortMultipartUploadRequest.class)
+        );
+    }
+
+    @Test
+    void sendsOnlyChangedParts(@TempDir final Path temp) throws Exception {
+        final FakeS3 fake = new FakeS3();
+        final Multipart multipart = new Multipart(fake.client(), 10L, 2);
+        final Hashes hashes = new Hashes.Scan(10L, new Timings());
+        final File war = temp.resolve("delta.war").toFile();
+        Files.write(
+            war.toPath(),
+            "aaaaaaaaaabbbbbbbbbbccccccccccdd".getBytes(StandardCharsets.UTF_8)
+        );
+        multipart.upload("bucket", "delta", war, hashes.digest(war));
+        final byte[] changed =
+            "aaaaaaaaaaBBBBBBBBBBccccccccccdd".getBytes(StandardCharsets.UTF_8);
+        Files.write(war.toPath(), changed);
+        multipart.upload("bucket", "delta", war, hashes.digest(war));
+        Assertions.assertAll(
+            () -> MatcherAssert.assertThat(
+                "unchanged parts cannot be sent again",
+                fake.sent(),
+                Matchers.equalTo(5)
+            ),
+            () -> MatcherAssert.assertThat(
+                "object cannot differ from the file",
+                fake.content("delta"),
+                Matchers.equalTo(changed)
+            )
+        );
+    }
+
+    @Test
+    void hashesAndUploadsInOneRead(@TempDir final Path temp)
+        throws Exception {
+        final FakeS3 fake = new FakeS3();
+        final File war = MultipartTest.war(temp);
+        final Digest digest = new Multipart(fake.client(), 10L, 2)
+            .stream("bucket", "stream", war, dgst -> true);
+        Assertions.assertAll(
+            () -> MatcherAssert.assertThat(
+                "digests cannot differ from the ones of a separate read",
+                digest.multipart(),
+                Matchers.equalTo(
+                    new Hashes.Scan(10L, new Timings()).digest(war).multipart()
+                )
+            ),
+            () -> MatcherAssert.assertThat(
+                "object cannot differ from the file",
+                fake.content("stream"),
+                Matchers.equalTo(Files.readAllBytes(war.toPath()))
+            )
+        );
+    }
+
+    @Test
+    void abortsStreamWhenUploadIsNotNeeded(@TempDir final Path temp)
+        throws Exception {
+        final AmazonS3 client = MultipartTest.client();
+        Mockito.doAnswer(
+            inv -> {
+                final UploadPartRequest req = inv.getArgument(0);
+                final UploadPartResult res = new UploadPartResult();
+                res.setPartNumber(req.getPartNumber());
+                res.setETag("etag");
+                return res;
+            }
+        ).when(client).uploadPart(Mockito.any(UploadPartRequest.class));
+        new Multipart(client, 10L, 2).stream(
+            "bucket", "key", MultipartTest.war(temp), dgst -> false
+        );
+        Mockito.verify(client).abortMultipartUpload(
+            Mockito.any(AbortMultipartUploadRequest.class)
+        );
+        Mockito.verify(client, Mockito.never()).completeMultipartUpload(
+            Mockito.any(CompleteMultipartUploadRequest.class)
+        );
+    }
+
+    @Test
+    void forgetsStreamWhenUploadIsNotNeeded(@TempDir final Path temp)
+        throws Exception {
+        final AmazonS3 client = MultipartTest.client();
+        final AtomicInteger sent = new AtomicInteger();
+        Mockito.doAnswer(
+            inv -> {
+                final long end = System.nanoTime()
+                    + TimeUnit.MILLISECONDS.toNanos(200L);
+                while (System.nanoTime() < end) {
+                    Thread.yield();
+                }
+                sent.incrementAndGet();
+                final UploadPartRequest req = inv.getArgument(0);
+                final UploadPartResult res = new UploadPartResult();
+                res.setPartNumber(req.getPartNumber());
+                res.setETag("etag");
+                return res;
+            }
+        ).when(client).uploadPart(Mockito.any(UploadPartRequest.class));
+        final Journal journal = new Journal.Dir(temp.resolve("jrnl").toFile());
+        new Multipart(client, 10L, 2, journal).stream(
+            "bucket", "key", MultipartTest.war(temp), dgst -> false
+        );
+        final int done = sent.get();
+        TimeUnit.MILLISECONDS.sleep(500L);
+        Assertions.assertAll(
+            () -> MatcherAssert.assertThat(
+                "parts cannot be sent after the upload is given up",
+                sent.get(),
+                Matchers.equalTo(done)
+            ),
+            () -> MatcherAssert.assertThat(
+                "upload given up cannot stay in the journal",
+                journal.load("bucket", "key").isEmpty(),
+                Matchers.is(true)
+            )
+        );
+    }
+
+    @Test
+    void resumesInterruptedUpload(@TempDir final Path temp)
+        throws Exception {
+        final FakeS3 fake = new FakeS3();
+        final AmazonS3 origin = fake.client();
+        final Journal journal = new Journal.Dir(temp.resolve("jrnl").toFile());
+        final File war = MultipartTest.war(temp);
+        final Digest digest = new Hashes.Scan(10L, new Timings()).digest(war);
+        Assertions.assertThrows(
+            DeploymentException.class,
+            () -> new Multipart(MultipartTest.killed(origin), 10L, 2, journal)
+                .upload("bucket", "resumed", war, digest)
+        );
+        new Multipart(origin, 10L, 2, journal)
+            .upload("bucket", "resumed", war, digest);
+        Assertions.assertAll(
+            () -> MatcherAssert.assertThat(
+                "parts done before the failure cannot be sent again",
+                fake.sent(),
+                Matchers.equalTo(3)
+            ),
+            () -> MatcherAssert.assertThat(
+                "object cannot differ from the file",
+                fake.content("resumed"),
+                Matchers.equalTo(Files.readAllBytes(war.toPath()))
+            )
+        );
+    }
+
+    @Test
+    void abortsUploadsLeftWithoutJournal(@TempDir final Path temp)
+        throws Exception {
+        final FakeS3 fake = new FakeS3();
+        final AmazonS3 origin = fake.client();
+        final File war = MultipartTest.war(temp);
+        final Digest digest = new Hashes.Scan(10L, new Timings()).digest(war);
+        Assertions.assertThrows(
+            DeploymentException.class,
+            () -> new Multipart(
+                MultipartTest.killed(origin), 10L, 2,
+                new Journal.Dir(temp.resolve("wiped").toFile())
+            ).upload("bucket", "left", war, digest)
+        );
+        final Multipart multipart = new Multipart(
+            origin, 10L, 2, new Journal.Dir(temp.resolve("fresh").toFile())
+        );
+        multipart.upload("bucket", "left", war, digest);
+        MatcherAssert.assertThat(
+            "upload, which another build may still run, cannot be aborted",
+            fake.uploads(),
+            Matchers.hasSize(1)
+        );
+        fake.age(Multipart.STALE);
+        multipart.upload("bucket", "left", war, digest);
+        MatcherAssert.assertThat(
+            "upload left by a build without journal cannot stay in S3",
+            fake.uploads(),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void abortsUploadWhenInterrupted(@TempDir final Path temp)
+        throws Exception {
+        final AmazonS3 client = MultipartTest.client();
+        final CountDownLatch sending = new CountDownLatch(1);
+        Mockito.doAnswer(
+            inv -> {
+                sending.countDown();
+                new CountDownLatch(1).await();
+                return null;
+            }
+        ).when(client).uploadPart(Mockito.any(UploadPartRequest.class));
+        final File war = MultipartTest.war(temp);
+        final Digest digest = new Hashes.Scan(10L, new Timings()).digest(war);
+        final Thread uploader = new Thread(
+            () -> Assertions.assertThrows(
+                DeploymentException.class,
+                () -> new Multipart(client, 10L, 2)
+                    .upload("bucket", "key", war, digest)
+            )
+        );
+        uploader.start();
+        sending.await(1L, TimeUnit.MINUTES);
+        uploader.interrupt();
+        uploader.join(TimeUnit.MINUTES.toMillis(1L));
+        Mockito.verify(client).abortMultipartUpload(
+            Mockito.any(AbortMultipartUploadRequest.class)
+        );
+    }
+
+    private static AmazonS3 killed(final AmazonS3 origin) {
+        return (AmazonS3) Proxy.newProxyInstance(
+            AmazonS3.class.getClassLoader(),
+            new Class<?>[] {AmazonS3.class},
+            (proxy, method, args) -> {
+                if ("uploadPart".equals(method.getName())
+                    && ((UploadPartRequest) args[0]).getPartNumber() == 3) {
+                    throw new IllegalStateException("build is killed");
+                }
+                try {
+                    return method.invoke(origin, args);
+                } catch (final InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            }
+        );
+    }
+
+    private static AmazonS3 client() {
+        final AmazonS3 client = Mockito.mock(AmazonS3.class);
+        final AmazonS3Exception absent = new AmazonS3Exception("Not Found");
+        absent.setStatusCode(404);
+        Mockito.doThrow(absent).when(client)
+            .getObject(Mockito.anyString(), Mockito.anyString());
+        final InitiateMultipartUploadResult init =
+            new InitiateMultipartUploadResult();
+        init.setUploadId("upload-id");
+        Mockito.doReturn(init).when(client).initiateMultipartUpload(
+            Mockito.any(InitiateMultipartUploadRequest.class)
+        );
+        final MultipartUploadListing listing = new MultipartUploadListing();
+        listing.setMultipartUploads(new ArrayList<>(0));
+        Mockito.doReturn(listing).when(client).listMultipartUploads(
+            Mockito.any(ListMultipartUploadsRequest.class)
+        );
+        Mockito.doReturn(new CompleteMultipartUploadResult())
+            .when(client).completeMultipartUpload(
+                Mockito.any(CompleteMultipartUploadRequest.class)
+            );
+        return client;
+    }
+
+    private static File war(final Path temp) throws Exception {
+        return Files.write(
+            temp.resolve("big.war"),
+            "twenty five bytes of WAR".getBytes(StandardCharsets.UTF_8)
+        ).toFile();
+    }
+}
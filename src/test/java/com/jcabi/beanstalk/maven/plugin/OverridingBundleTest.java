@@ -5,13 +5,16 @@
 package com.jcabi.beanstalk.maven.plugin;
 
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
-import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.amazonaws.services.s3.model.PutObjectResult;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
@@ -33,11 +36,7 @@ final class OverridingBundleTest {
             temp.resolve("temp.war"),
             "broken JAR file content".getBytes(StandardCharsets.UTF_8)
         ).toFile();
-        final AmazonS3 client = Mockito.mock(AmazonS3.class);
-        Mockito.doReturn(new PutObjectResult())
-            .when(client).putObject(bucket, key, war);
-        Mockito.doReturn(new ObjectListing())
-            .when(client).listObjects(Mockito.any(ListObjectsRequest.class));
+        final AmazonS3 client = OverridingBundleTest.empty(bucket, key);
         final Bundle bundle = new OverridingBundle(client, bucket, key, war);
         Assertions.assertAll(
             () -> MatcherAssert.assertThat(
@@ -55,20 +54,50 @@ final class OverridingBundleTest {
 
     @Test
     void cachesResultOfLocation(@TempDir final Path temp) throws Exception {
-        final AmazonS3 client = Mockito.mock(AmazonS3.class);
         final String bucket = "some-bucket-for-cache";
         final String key = "some-key-for-cache";
+        final AmazonS3 client = OverridingBundleTest.empty(bucket, key);
         final File war = Files.write(
             temp.resolve("temp1.war"),
             "some JAR file content".getBytes(StandardCharsets.UTF_8)
         ).toFile();
-        Mockito.doReturn(new PutObjectResult())
-            .when(client).putObject(bucket, key, war);
-        Mockito.doReturn(new ObjectListing())
-            .when(client).listObjects(Mockito.any(ListObjectsRequest.class));
         final Bundle bundle = new OverridingBundle(client, bucket, key, war);
         bundle.location();
         bundle.location();
-        Mockito.verify(client, Mockito.times(1)).putObject(bucket, key, war);
+        Mockito.verify(client, Mockito.times(1))
+            .putObject(Mockito.any(PutObjectRequest.class));
+    }
+
+    @Test
+    void skipsUploadOfTheSameContent(@TempDir final Path temp)
+        throws Exception {
+        final String bucket = "some-bucket-with-war";
+        final String key = "some-key-with-war";
+        final File war = Files.write(
+            temp.resolve("same.war"),
+            "same JAR file content".getBytes(StandardCharsets.UTF_8)
+        ).toFile();
+        final AmazonS3 client = Mockito.mock(AmazonS3.class);
+        final ObjectMetadata meta = new ObjectMetadata();
+        meta.setContentLength(war.length());
+        meta.addUserMetadata(
+            "sha256", DigestUtils.sha256Hex("same JAR file content")
+        );
+        Mockito.doReturn(meta).when(client).getObjectMetadata(bucket, key);
+        new OverridingBundle(client, bucket, key, war).location();
+        Mockito.verify(client, Mockito.never())
+            .putObject(Mockito.any(PutObjectRequest.class));
+        Mockito.verify(client, Mockito.never())
+            .listObjects(Mockito.any(ListObjectsRequest.class));
+    }
+
+    private static AmazonS3 empty(final String bucket, final String key) {
+        final AmazonS3 client = Mockito.mock(AmazonS3.class);
+        final AmazonS3Exception absent = new AmazonS3Exception("Not Found");
+        absent.setStatusCode(404);
+        Mockito.doThrow(absent).when(client).getObjectMetadata(bucket, key);
+        Mockito.doReturn(new PutObjectResult())
+            .when(client).putObject(Mockito.any(PutObjectRequest.class));
+        return client;
     }
 }
@@ -0,0 +1,114 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Poller}.
+ * @since 1.0
+ */
+final class PollerTest {
+
+    @Test
+    void runsManyWaitsOnOneTimer() {
+        try (
+            Poller poller = new Poller(
+                attempt -> 1L, false,
+                new Deadline(TimeUnit.MINUTES.toMillis(1L)), new Timings()
+            )
+        ) {
+            final AtomicInteger first = new AtomicInteger();
+            final AtomicInteger second = new AtomicInteger();
+            final CompletableFuture<Boolean> one = poller.submit(
+                "first", new Watch.Describe(attempt -> 1L),
+                () -> first.incrementAndGet() > 3
+            );
+            final CompletableFuture<Boolean> two = poller.submit(
+                "second", new Watch.Describe(attempt -> 1L),
+                () -> second.incrementAndGet() > 5
+            );
+            MatcherAssert.assertThat(
+                "both waits cannot fail",
+                poller.join(one) && poller.join(two),
+                Matchers.is(true)
+            );
+        }
+    }
+
+    @Test
+    void givesUpAfterDeadline() {
+        try (
+            Poller poller = new Poller(
+                attempt -> 1L, false, new Deadline(50L), new Timings()
+            )
+        ) {
+            MatcherAssert.assertThat(
+                "the wait cannot last beyond the deadline",
+                poller.join(
+                    poller.submit(
+                        "never", new Watch.Describe(attempt -> 1L), () -> false
+                    )
+                ),
+                Matchers.is(false)
+            );
+        }
+    }
+
+    @Test
+    void checksNothingAfterDeadline() {
+        final AtomicInteger checks = new AtomicInteger();
+        try (
+            Poller poller = new Poller(
+                attempt -> 1L, false, new Deadline(0L), new Timings()
+            )
+        ) {
+            MatcherAssert.assertThat(
+                "expired wait cannot pass",
+                poller.join(
+                    poller.submit(
+                        "late", new Watch.Describe(attempt -> 1L),
+                        () -> checks.incrementAndGet() > 0
+                    )
+                ),
+                Matchers.is(false)
+            );
+        }
+        MatcherAssert.assertThat(
+            "expired wait cannot call the probe",
+            checks.get(),
+            Matchers.equalTo(0)
+        );
+    }
+
+    @Test
+    void reportsFailureOfProbe() {
+        try (
+            Poller poller = new Poller(
+                attempt -> 1L, false,
+                new Deadline(TimeUnit.MINUTES.toMillis(1L)), new Timings()
+            )
+        ) {
+            Assertions.assertThrows(
+                DeploymentException.class,
+                () -> poller.join(
+                    poller.submit(
+                        "broken", new Watch.Describe(attempt -> 1L),
+                        () -> {
+                            throw new DeploymentException("broken probe");
+                        }
+                    )
+                ),
+                "failure of a probe cannot be swallowed"
+            );
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
+import com.amazonaws.services.elasticbeanstalk.model.ApplicationVersionDescription;
+import com.amazonaws.services.elasticbeanstalk.model.DeleteApplicationVersionRequest;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeApplicationVersionsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeApplicationVersionsResult;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEnvironmentsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEnvironmentsResult;
+import com.amazonaws.services.elasticbeanstalk.model.EnvironmentDescription;
+import com.amazonaws.services.elasticbeanstalk.model.S3Location;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import java.util.Date;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link Retention}.
+ * @since 1.0
+ */
+final class RetentionTest {
+
+    @Test
+    void deletesOldVersionsButLiveOnes() {
+        final AWSElasticBeanstalk ebt = Mockito.mock(AWSElasticBeanstalk.class);
+        Mockito.doReturn(
+            new DescribeApplicationVersionsResult().withApplicationVersions(
+                RetentionTest.version("v1", 1L, "a.war"),
+                RetentionTest.version("v2", 2L, "b.war"),
+                RetentionTest.version("v3", 3L, "c.war"),
+                RetentionTest.version("v4", 4L, "d.war"),
+                RetentionTest.version("v5", 5L, "d.war")
+            )
+        ).when(ebt).describeApplicationVersions(
+            Mockito.any(DescribeApplicationVersionsRequest.class)
+        );
+        Mockito.doReturn(
+            new DescribeEnvironmentsResult().withEnvironments(
+                new EnvironmentDescription()
+                    .withVersionLabel("v1")
+                    .withStatus("Ready")
+            )
+        ).when(ebt).describeEnvironments(
+            Mockito.any(DescribeEnvironmentsRequest.class)
+        );
+        final AmazonS3 s3 = Mockito.mock(AmazonS3.class);
+        final Versions versions = new Versions(ebt, "app");
+        MatcherAssert.assertThat(
+            "versions cannot be kept beyond the limit",
+            new Retention(ebt, s3, "app", versions, 1, 2).clean(),
+            Matchers.containsInAnyOrder("v2", "v3", "v4")
+        );
+        final ArgumentCaptor<DeleteObjectsRequest> captor =
+            ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        Mockito.verify(s3).deleteObjects(captor.capture());
+        Assertions.assertAll(
+            () -> MatcherAssert.assertThat(
+                "bundles used by kept versions cannot be deleted",
+                captor.getValue().getKeys(),
+                Matchers.hasSize(4)
+            ),
+            () -> MatcherAssert.assertThat(
+                "deleted versions cannot stay in the index",
+                versions.all(),
+                Matchers.hasSize(2)
+            )
+        );
+        Mockito.verify(ebt, Mockito.times(3)).deleteApplicationVersion(
+            Mockito.any(DeleteApplicationVersionRequest.class)
+        );
+    }
+
+    @Test
+    void keepsBundlesOfOtherApplications() {
+        final AWSElasticBeanstalk ebt = Mockito.mock(AWSElasticBeanstalk.class);
+        Mockito.doReturn(
+            new DescribeApplicationVersionsResult().withApplicationVersions(
+                RetentionTest.version("v1", 1L, "shared.war"),
+                RetentionTest.version("v2", 2L, "own.war"),
+                RetentionTest.version("v3", 3L, "new.war")
+            )
+        ).when(ebt).describeApplicationVersions(
+            Mockito.any(DescribeApplicationVersionsRequest.class)
+        );
+        Mockito.doReturn(
+            new DescribeApplicationVersionsResult().withApplicationVersions(
+                RetentionTest.version("v1", 1L, "shared.war"),
+                RetentionTest.version("v2", 2L, "own.war"),
+                RetentionTest.version("v3", 3L, "new.war"),
+                RetentionTest.version("v1", 1L, "shared.war")
+                    .withApplicationName("other")
+            )
+        ).when(ebt).describeApplicationVersions(
+            new DescribeApplicationVersionsRequest()
+        );
+        Mockito.doReturn(new DescribeEnvironmentsResult()).when(ebt)
+            .describeEnvironments(
+                Mockito.any(DescribeEnvironmentsRequest.class)
+            );
+        final AmazonS3 s3 = Mockito.mock(AmazonS3.class);
+        new Retention(ebt, s3, "app", new Versions(ebt, "app"), 1, 2).clean();
+        final ArgumentCaptor<DeleteObjectsRequest> captor =
+            ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        Mockito.verify(s3).deleteObjects(captor.capture());
+        Assertions.assertAll(
+            () -> MatcherAssert.assertThat(
+                "bundles used by other applications cannot be deleted",
+                captor.getValue().getKeys(),
+                Matchers.not(
+                    Matchers.hasItem(
+                        Matchers.hasProperty(
+                            "key", Matchers.equalTo("shared.war")
+                        )
+                    )
+                )
+            ),
+            () -> MatcherAssert.assertThat(
+                "bundles used by nobody cannot stay",
+                captor.getValue().getKeys(),
+                Matchers.hasSize(2)
+            )
+        );
+    }
+
+    private static ApplicationVersionDescription version(final String label,
+        final long created, final String key) {
+        return new ApplicationVersionDescription()
+            .withApplicationName("app")
+            .withVersionLabel(label)
+            .withDateCreated(new Date(created))
+            .withSourceBundle(new S3Location("bucket", key));
+    }
+}
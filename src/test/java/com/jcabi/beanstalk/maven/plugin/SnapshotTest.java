@@ -0,0 +1,105 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEnvironmentsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEnvironmentsResult;
+import com.amazonaws.services.elasticbeanstalk.model.EnvironmentDescription;
+import java.util.Arrays;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link Snapshot}.
+ * @since 1.0
+ */
+final class SnapshotTest {
+
+    /**
+     * ID of the first environment.
+     */
+    private static final String FIRST = "e-first";
+
+    /**
+     * ID of the second environment.
+     */
+    private static final String SECOND = "e-second";
+
+    @Test
+    void servesFreshDescriptionFromMemory() {
+        final AWSElasticBeanstalk ebt = SnapshotTest.beanstalk();
+        final Snapshot snapshot = new Snapshot(ebt);
+        snapshot.get(SnapshotTest.FIRST);
+        snapshot.get(SnapshotTest.FIRST);
+        Mockito.verify(ebt, Mockito.times(1)).describeEnvironments(
+            Mockito.any(DescribeEnvironmentsRequest.class)
+        );
+    }
+
+    @Test
+    void fetchesDescriptionAgainAfterInvalidation() {
+        final AWSElasticBeanstalk ebt = SnapshotTest.beanstalk();
+        final Snapshot snapshot = new Snapshot(ebt);
+        snapshot.get(SnapshotTest.FIRST);
+        snapshot.invalidate(SnapshotTest.FIRST);
+        MatcherAssert.assertThat(
+            "invalidated snapshot cannot lose the status",
+            snapshot.get(SnapshotTest.FIRST).getStatus(),
+            Matchers.equalTo("Ready")
+        );
+        Mockito.verify(ebt, Mockito.times(2)).describeEnvironments(
+            Mockito.any(DescribeEnvironmentsRequest.class)
+        );
+    }
+
+    @Test
+    void refreshesAllEnvironmentsInOneRequest() {
+        final AWSElasticBeanstalk ebt = SnapshotTest.beanstalk();
+        final Snapshot snapshot = new Snapshot(
+            ebt,
+            Arrays.asList(
+                new EnvironmentDescription()
+                    .withEnvironmentId(SnapshotTest.FIRST),
+                new EnvironmentDescription()
+                    .withEnvironmentId(SnapshotTest.SECOND)
+            )
+        );
+        snapshot.refresh(SnapshotTest.FIRST);
+        snapshot.get(SnapshotTest.SECOND);
+        final ArgumentCaptor<DescribeEnvironmentsRequest> captor =
+            ArgumentCaptor.forClass(DescribeEnvironmentsRequest.class);
+        Mockito.verify(ebt, Mockito.times(1))
+            .describeEnvironments(captor.capture());
+        MatcherAssert.assertThat(
+            "refresh cannot skip other environments of the snapshot",
+            captor.getValue().getEnvironmentIds(),
+            Matchers.containsInAnyOrder(SnapshotTest.FIRST, SnapshotTest.SECOND)
+        );
+    }
+
+    private static AWSElasticBeanstalk beanstalk() {
+        final AWSElasticBeanstalk ebt = Mockito.mock(AWSElasticBeanstalk.class);
+        Mockito.when(
+            ebt.describeEnvironments(
+                Mockito.any(DescribeEnvironmentsRequest.class)
+            )
+        ).thenReturn(
+            new DescribeEnvironmentsResult().withEnvironments(
+                new EnvironmentDescription()
+                    .withEnvironmentId(SnapshotTest.FIRST)
+                    .withStatus("Ready")
+                    .withHealth("Green"),
+                new EnvironmentDescription()
+                    .withEnvironmentId(SnapshotTest.SECOND)
+                    .withStatus("Terminated")
+            )
+        );
+        return ebt;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link StageMojo}.
+ * @since 1.0
+ */
+final class StageMojoTest {
+
+    @Test
+    void skipsExecutionWhenRequired() {
+        final StageMojo mojo = new StageMojo();
+        mojo.setSkip(true);
+        Assertions.assertDoesNotThrow(
+            mojo::execute,
+            "skipped execution cannot fail"
+        );
+    }
+
+    @Test
+    void makesVersionWithoutTouchingEnvironments() {
+        final AWSElasticBeanstalk ebt = Mockito.mock(AWSElasticBeanstalk.class);
+        final AtomicBoolean made = new AtomicBoolean();
+        try (
+            Poller poller = new Poller(
+                attempt -> 1L, false,
+                new Deadline(TimeUnit.MINUTES.toMillis(1L)), new Timings()
+            )
+        ) {
+            new StageMojo().exec(
+                new Application(ebt, "app", poller),
+                () -> {
+                    made.set(true);
+                    return "v1";
+                },
+                "template"
+            );
+        }
+        MatcherAssert.assertThat(
+            "version cannot be left unmade",
+            made.get(),
+            Matchers.is(true)
+        );
+        Mockito.verifyNoInteractions(ebt);
+    }
+}
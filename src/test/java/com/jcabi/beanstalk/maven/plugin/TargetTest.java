@@ -0,0 +1,103 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Target}.
+ * @since 1.0
+ */
+final class TargetTest {
+
+    @Test
+    void takesMissingElementsFromDefaults() {
+        final Target target = new Target("", "", null, "")
+            .with("app", "tmpl", "bucket");
+        Assertions.assertAll(
+            () -> MatcherAssert.assertThat(
+                "application cannot be missing",
+                target.name(),
+                Matchers.equalTo("app")
+            ),
+            () -> MatcherAssert.assertThat(
+                "region cannot be invented",
+                target.region(),
+                Matchers.equalTo("")
+            ),
+            () -> MatcherAssert.assertThat(
+                "template cannot be missing",
+                target.template(),
+                Matchers.equalTo("tmpl")
+            ),
+            () -> MatcherAssert.assertThat(
+                "bucket cannot be missing",
+                target.bucket(),
+                Matchers.equalTo("bucket")
+            )
+        );
+    }
+
+    @Test
+    void keepsConfiguredElements() {
+        final Target target = new Target("web", "us-east-1", "big", "eu")
+            .with("app", "tmpl", "bucket");
+        Assertions.assertAll(
+            () -> MatcherAssert.assertThat(
+                "target cannot lose its own elements",
+                target,
+                Matchers.equalTo(new Target("web", "us-east-1", "big", "eu"))
+            ),
+            () -> MatcherAssert.assertThat(
+                "target cannot be equal to another one",
+                target,
+                Matchers.not(
+                    Matchers.equalTo(
+                        new Target("app", "us-east-1", "tmpl", "bucket")
+                    )
+                )
+            )
+        );
+    }
+
+    @Test
+    void refusesIncompleteTargets() {
+        Assertions.assertAll(
+            () -> Assertions.assertThrows(
+                DeploymentException.class,
+                () -> new Target("app", "eu-west-1", "", "")
+                    .with("app", "tmpl", "bucket"),
+                "target in a region cannot use the bucket of the plugin"
+            ),
+            () -> Assertions.assertThrows(
+                DeploymentException.class,
+                () -> new Target().with("app", "tmpl", null),
+                "target cannot go without a bucket"
+            ),
+            () -> Assertions.assertThrows(
+                DeploymentException.class,
+                () -> new Target().with(null, "tmpl", "bucket"),
+                "target cannot go without an application"
+            )
+        );
+    }
+
+    @Test
+    void printsApplicationAndRegion() {
+        MatcherAssert.assertThat(
+            "target cannot be printed with an empty region",
+            new Target().with("app", "tmpl", "bucket").toString(),
+            Matchers.equalTo("app")
+        );
+        MatcherAssert.assertThat(
+            "target cannot be printed without its region",
+            new Target("app", "us-west-2", "", "").toString(),
+            Matchers.equalTo("app@us-west-2")
+        );
+    }
+}
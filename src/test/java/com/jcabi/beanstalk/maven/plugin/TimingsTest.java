@@ -0,0 +1,107 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
+import com.amazonaws.services.elasticbeanstalk.model.CheckDNSAvailabilityRequest;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import org.apache.commons.io.FileUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link Timings}.
+ * @since 1.0
+ */
+final class TimingsTest {
+
+    @Test
+    void savesPhasesAndCallsToJson(@TempDir final Path temp)
+        throws Exception {
+        final Timings timings = new Timings();
+        timings.phase("upload", () -> "done");
+        timings.calls(
+            AWSElasticBeanstalk.class,
+            Mockito.mock(AWSElasticBeanstalk.class)
+        ).checkDNSAvailability(new CheckDNSAvailabilityRequest("some"));
+        final File file = temp.resolve("timings.json").toFile();
+        timings.save(file);
+        final String json = FileUtils.readFileToString(
+            file, StandardCharsets.UTF_8
+        );
+        Assertions.assertAll(
+            () -> MatcherAssert.assertThat(
+                "the phase cannot be missed in the report",
+                json,
+                Matchers.containsString("\"upload\"")
+            ),
+            () -> MatcherAssert.assertThat(
+                "the API call cannot be missed in the report",
+                json,
+                Matchers.containsString(
+                    "AWSElasticBeanstalk.checkDNSAvailability"
+                )
+            )
+        );
+    }
+
+    @Test
+    void labelsPhasesAndCallsOfTargets(@TempDir final Path temp)
+        throws Exception {
+        final Timings timings = new Timings();
+        final Timings target = timings.target("app@eu-west-1");
+        target.phase("swap", () -> { });
+        target.calls(
+            AWSElasticBeanstalk.class,
+            Mockito.mock(AWSElasticBeanstalk.class)
+        ).checkDNSAvailability(new CheckDNSAvailabilityRequest("some"));
+        final File file = temp.resolve("labeled.json").toFile();
+        timings.save(file);
+        final String json = FileUtils.readFileToString(
+            file, StandardCharsets.UTF_8
+        );
+        Assertions.assertAll(
+            () -> MatcherAssert.assertThat(
+                "the target of a phase cannot be lost",
+                json,
+                Matchers.containsString(
+                    "{\"target\":\"app@eu-west-1\",\"name\":\"swap\""
+                )
+            ),
+            () -> MatcherAssert.assertThat(
+                "the target of a call cannot be lost",
+                json,
+                Matchers.containsString(
+                    "\"app@eu-west-1 AWSElasticBeanstalk.checkDNSAvailability\""
+                )
+            ),
+            () -> MatcherAssert.assertThat(
+                "the target cannot be lost in the summary",
+                timings.summary(),
+                Matchers.containsString("app@eu-west-1 swap")
+            )
+        );
+    }
+
+    @Test
+    void summarizesInOneLine() {
+        final Timings timings = new Timings();
+        timings.phase("swap", () -> { });
+        MatcherAssert.assertThat(
+            "the summary cannot skip phases",
+            timings.summary(),
+            Matchers.allOf(
+                Matchers.containsString("swap"),
+                Matchers.not(Matchers.containsString("\n"))
+            )
+        );
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Version}.
+ * @since 1.0
+ */
+final class VersionTest {
+
+    @Test
+    void makesLabelInBackground() throws Exception {
+        final CountDownLatch made = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        final Version version = new Version.Ahead(
+            () -> {
+                calls.incrementAndGet();
+                made.countDown();
+                return "v1";
+            }
+        ).start();
+        MatcherAssert.assertThat(
+            "version cannot wait till its label is asked for",
+            made.await(1L, TimeUnit.MINUTES),
+            Matchers.is(true)
+        );
+        version.label();
+        MatcherAssert.assertThat(
+            "label cannot be made twice",
+            version.label(),
+            Matchers.equalTo("v1")
+        );
+        MatcherAssert.assertThat(
+            "original version cannot be asked twice",
+            calls.get(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    @Test
+    void throwsFailureWhenLabelIsAskedFor() {
+        final Version version = new Version.Ahead(
+            () -> {
+                throw new DeploymentException("upload failed");
+            }
+        ).start();
+        Assertions.assertThrows(DeploymentException.class, version::label);
+    }
+
+    @Test
+    void interruptsVersionWhenClosed() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final Version.Ahead version = new Version.Ahead(
+            () -> {
+                started.countDown();
+                try {
+                    new CountDownLatch(1).await();
+                } catch (final InterruptedException ex) {
+                    interrupted.countDown();
+                }
+                return "v2";
+            }
+        ).start();
+        started.await(1L, TimeUnit.MINUTES);
+        version.close();
+        Assertions.assertAll(
+            () -> MatcherAssert.assertThat(
+                "closed version cannot keep being made",
+                interrupted.await(1L, TimeUnit.MINUTES),
+                Matchers.is(true)
+            ),
+            () -> Assertions.assertThrows(
+                DeploymentException.class, version::label,
+                "closed version cannot have a label"
+            )
+        );
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
+import com.amazonaws.services.elasticbeanstalk.model.ApplicationVersionDescription;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeApplicationVersionsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeApplicationVersionsResult;
+import com.amazonaws.services.elasticbeanstalk.model.S3Location;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link Versions}.
+ * @since 1.0
+ */
+final class VersionsTest {
+
+    @Test
+    void loadsVersionsOnce() {
+        final AWSElasticBeanstalk ebt = Mockito.mock(AWSElasticBeanstalk.class);
+        Mockito.doReturn(
+            new DescribeApplicationVersionsResult().withApplicationVersions(
+                new ApplicationVersionDescription()
+                    .withVersionLabel("v1")
+                    .withSourceBundle(new S3Location("bucket", "one.war"))
+                    .withDescription("0a1b"),
+                new ApplicationVersionDescription()
+                    .withVersionLabel("v2")
+                    .withSourceBundle(new S3Location("bucket", "one.war"))
+                    .withDescription("2c3d")
+            )
+        ).when(ebt).describeApplicationVersions(
+            Mockito.any(DescribeApplicationVersionsRequest.class)
+        );
+        final Versions versions = new Versions(ebt, "app");
+        Assertions.assertAll(
+            () -> MatcherAssert.assertThat(
+                "version cannot be lost by its label",
+                versions.byLabel("v2").getDescription(),
+                Matchers.equalTo("2c3d")
+            ),
+            () -> MatcherAssert.assertThat(
+                "versions cannot be lost by their bundle",
+                versions.byBundle(new S3Location("bucket", "one.war")),
+                Matchers.hasSize(2)
+            ),
+            () -> MatcherAssert.assertThat(
+                "version cannot be lost by its digest",
+                versions.byDigest("0a1b"),
+                Matchers.hasSize(1)
+            )
+        );
+        Mockito.verify(ebt, Mockito.times(1)).describeApplicationVersions(
+            Mockito.any(DescribeApplicationVersionsRequest.class)
+        );
+    }
+
+    @Test
+    void followsCreatedAndDeletedVersions() {
+        final AWSElasticBeanstalk ebt = Mockito.mock(AWSElasticBeanstalk.class);
+        Mockito.doReturn(
+            new DescribeApplicationVersionsResult().withApplicationVersions(
+                new ApplicationVersionDescription().withVersionLabel("old")
+            )
+        ).when(ebt).describeApplicationVersions(
+            Mockito.any(DescribeApplicationVersionsRequest.class)
+        );
+        final Versions versions = new Versions(ebt, "app");
+        versions.add(
+            new ApplicationVersionDescription().withVersionLabel("new")
+        );
+        versions.remove("old");
+        MatcherAssert.assertThat(
+            "index cannot differ from the application",
+            versions.byLabel("old") == null && versions.byLabel("new") != null,
+            Matchers.is(true)
+        );
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * SPDX-FileCopyrightText: Copyright (c) 2012-2025 Yegor Bugayenko
+ * SPDX-License-Identifier: MIT
+ */
+package com.jcabi.beanstalk.maven.plugin;
+
+import com.amazonaws.services.elasticbeanstalk.AWSElasticBeanstalk;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEventsRequest;
+import com.amazonaws.services.elasticbeanstalk.model.DescribeEventsResult;
+import com.amazonaws.services.elasticbeanstalk.model.EventDescription;
+import java.util.Date;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link Watch}.
+ * @since 1.0
+ */
+final class WatchTest {
+
+    @Test
+    void wakesUpOnTerminalEvent() {
+        final AWSElasticBeanstalk ebt = WatchTest.beanstalk(
+            new EventDescription()
+                .withEventDate(new Date())
+                .withSeverity("INFO")
+                .withMessage("Successfully launched environment: e-test")
+        );
+        MatcherAssert.assertThat(
+            "terminal event cannot be ignored",
+            new Watch.Events(ebt, "e-test", new Backoff.Exponential())
+                .changed(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void keepsQuietWithoutTerminalEvents() {
+        final AWSElasticBeanstalk ebt = WatchTest.beanstalk(
+            new EventDescription()
+                .withEventDate(new Date())
+                .withSeverity("INFO")
+                .withMessage("Adding instance 'i-1234' to your environment.")
+        );
+        MatcherAssert.assertThat(
+            "regular event cannot trigger a describe",
+            new Watch.Events(ebt, "e-quiet", new Backoff.Exponential())
+                .changed(),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    void movesCursorForward() {
+        final Date date = new Date();
+        final AWSElasticBeanstalk ebt = WatchTest.beanstalk(
+            new EventDescription()
+                .withEventDate(date)
+                .withSeverity("INFO")
+                .withMessage("Environment health has been set to GREEN")
+        );
+        final Watch watch = new Watch.Events(
+            ebt, "e-cursor", new Backoff.Exponential()
+        );
+        watch.changed();
+        watch.changed();
+        final ArgumentCaptor<DescribeEventsRequest> captor =
+            ArgumentCaptor.forClass(DescribeEventsRequest.class);
+        Mockito.verify(ebt, Mockito.times(2)).describeEvents(captor.capture());
+        MatcherAssert.assertThat(
+            "the cursor cannot stay behind the latest event",
+            captor.getAllValues().get(1).getStartTime(),
+            Matchers.greaterThan(date)
+        );
+    }
+
+    @Test
+    void backsOffUntilEventsArrive() {
+        final AWSElasticBeanstalk ebt = Mockito.mock(AWSElasticBeanstalk.class);
+        Mockito.when(
+            ebt.describeEvents(Mockito.any(DescribeEventsRequest.class))
+        ).thenReturn(
+            new DescribeEventsResult(),
+            new DescribeEventsResult(),
+            new DescribeEventsResult().withEvents(
+                new EventDescription()
+                    .withEventDate(new Date())
+                    .withSeverity("INFO")
+                    .withMessage("Deploying new version to instance(s).")
+            )
+        );
+        final Watch watch = new Watch.Events(
+            ebt, "e-backoff", attempt -> (long) attempt
+        );
+        watch.changed();
+        watch.changed();
+        final long slow = watch.delay(3);
+        watch.changed();
+        MatcherAssert.assertThat(
+            "quiet checks cannot be made at the shortest interval",
+            slow,
+            Matchers.equalTo(3L)
+        );
+        MatcherAssert.assertThat(
+            "backoff cannot go on after new events",
+            watch.delay(4),
+            Matchers.equalTo(1L)
+        );
+    }
+
+    private static AWSElasticBeanstalk beanstalk(
+        final EventDescription event) {
+        final AWSElasticBeanstalk ebt = Mockito.mock(AWSElasticBeanstalk.class);
+        Mockito.when(
+            ebt.describeEvents(Mockito.any(DescribeEventsRequest.class))
+        ).thenReturn(new DescribeEventsResult().withEvents(event));
+        return ebt;
+    }
+}